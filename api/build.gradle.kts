@@ -17,4 +17,15 @@ dependencies {
     compileOnly(libs.scoreboard.api)
     runtimeOnly(libs.scoreboard.impl)
     runtimeOnly(libs.scoreboard.modern)
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.launcher)
+    testImplementation("io.papermc.paper:paper-api:1.19.4-R0.1-SNAPSHOT")
+    testImplementation("org.jetbrains:annotations:24.0.1")
+    testImplementation(libs.scoreboard.api)
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
@@ -17,24 +17,391 @@
  */
 package me.qeklydev.scoreboard.cache;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import me.qeklydev.scoreboard.repository.PlayerSlotArena;
+import me.qeklydev.scoreboard.snapshot.PlayerSnapshot;
 import me.qeklydev.scoreboard.type.ScoreboardToggleStateType;
 import net.kyori.adventure.text.Component;
 import net.megavex.scoreboardlibrary.api.sidebar.Sidebar;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * This record class represents a cached model for the
+ * This class represents a cached model for the
  * scoreboard of each connected player.
+ * <p>
+ * The per-board state, such as the toggle-state and the last
+ * content sent, lives in the {@link PlayerSlotArena} under the
+ * slot assigned to this model.
  *
- * @param player the player for this scoreboard.
- * @param internal the {@link Sidebar} model that represents
- *                 the scoreboard, and is used for their handling.
- * @param toggleState the current {@link ScoreboardToggleStateType}
- *                    for this scoreboard.
  * @since 0.0.1
  */
-public record CachedScoreboardModel(@NotNull Player player, @NotNull Sidebar internal, @NotNull ScoreboardToggleStateType toggleState) {
+public final class CachedScoreboardModel {
+  /**
+   * The render-state index used for the title, after
+   * the indexes of the lines.
+   *
+   * @since 0.0.1
+   */
+  public static final int TITLE_RENDER_INDEX = PlayerSlotArena.MAX_LINES;
+  private final Player player;
+  private final Sidebar internal;
+  private final PlayerSlotArena arena;
+  private final int slot;
+  private final boolean shared;
+  private final Object[] renderStates;
+  private final long[] refreshTimes;
+  private final Component[] bufferedLines;
+  private int bufferedLinesMask;
+  private final Set<String> invalidatedKeys;
+  private final AtomicBoolean invalidated;
+  private final AtomicLong linesFrame;
+  private final AtomicLong titleFrame;
+  private volatile PlayerSnapshot snapshot;
+  private volatile Object sentStaticContent;
+
+  /**
+   * Creates a new cached scoreboard model, this is only
+   * done by the {@link PlayerSlotArena} during slot assignment.
+   *
+   * @param player the player for this scoreboard.
+   * @param internal the {@link Sidebar} model that represents
+   *                 the scoreboard, and is used for their handling.
+   * @param arena the {@link PlayerSlotArena} that holds the state.
+   * @param slot the slot assigned for this model.
+   * @param shared whether the sidebar is shared with other players.
+   * @since 0.0.1
+   */
+  public CachedScoreboardModel(final @NotNull Player player, final @NotNull Sidebar internal,
+                               final @NotNull PlayerSlotArena arena, final int slot, final boolean shared) {
+    this.player = player;
+    this.internal = internal;
+    this.arena = arena;
+    this.slot = slot;
+    this.shared = shared;
+    this.renderStates = new Object[PlayerSlotArena.MAX_LINES + 1];
+    this.refreshTimes = new long[PlayerSlotArena.MAX_LINES];
+    this.bufferedLines = new Component[PlayerSlotArena.MAX_LINES];
+    this.invalidatedKeys = ConcurrentHashMap.newKeySet();
+    this.invalidated = new AtomicBoolean();
+    this.linesFrame = new AtomicLong();
+    this.titleFrame = new AtomicLong();
+  }
+
+  /**
+   * Returns the player for this scoreboard.
+   *
+   * @return The {@link Player}.
+   * @since 0.0.1
+   */
+  public @NotNull Player player() {
+    return this.player;
+  }
+
+  /**
+   * Returns the sidebar model that represents the scoreboard.
+   *
+   * @return The {@link Sidebar}.
+   * @since 0.0.1
+   */
+  public @NotNull Sidebar internal() {
+    return this.internal;
+  }
+
+  /**
+   * Returns the slot assigned for this model.
+   *
+   * @return The slot.
+   * @since 0.0.1
+   */
+  public int slot() {
+    return this.slot;
+  }
+
+  /**
+   * Returns whether the sidebar of this model is shared
+   * with other players.
+   *
+   * @return Whether the sidebar is shared.
+   * @since 0.0.1
+   */
+  public boolean shared() {
+    return this.shared;
+  }
+
+  /**
+   * Returns the last render-state stored for the given line, or
+   * {@link #TITLE_RENDER_INDEX} for the title. Each index is only
+   * accessed by a single updater at a time.
+   *
+   * @param index the line index.
+   * @return The render-state, or {@code null} if there's none.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public @Nullable Object renderState(final int index) {
+    return this.renderStates[index];
+  }
+
+  /**
+   * Stores the render-state for the given line, or
+   * {@link #TITLE_RENDER_INDEX} for the title.
+   *
+   * @param index the line index.
+   * @param renderState the new render-state.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public void renderState(final int index, final @Nullable Object renderState) {
+    this.renderStates[index] = renderState;
+  }
+
+  /**
+   * Checks whether the given line must be refreshed, and if it
+   * must, stores the given time as their last refresh. Each line
+   * is only accessed by a single updater at a time.
+   *
+   * @param index the line index.
+   * @param nowMillis the current time in milliseconds.
+   * @param intervalMillis the refresh interval of the line, with
+   *                       a tolerance for the scheduling jitter.
+   * @return Whether the line must be refreshed.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public boolean refreshDue(final int index, final long nowMillis, final long intervalMillis) {
+    if (nowMillis - this.refreshTimes[index] < intervalMillis) {
+      return false;
+    }
+    this.refreshTimes[index] = nowMillis;
+    return true;
+  }
+
+  /**
+   * Establishes the given frame as the last one that has updated
+   * the lines of this scoreboard, unless a newer frame already did,
+   * so a late execution of an older frame never overwrites it.
+   *
+   * @param generation the generation of the frame.
+   * @return Whether the frame can update the lines.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public boolean enterLinesFrame(final long generation) {
+    return enterFrame(this.linesFrame, generation);
+  }
+
+  /**
+   * Establishes the given frame as the last one that has updated
+   * the title of this scoreboard, unless a newer frame already did.
+   *
+   * @param generation the generation of the frame.
+   * @return Whether the frame can update the title.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public boolean enterTitleFrame(final long generation) {
+    return enterFrame(this.titleFrame, generation);
+  }
+
+  private static boolean enterFrame(final @NotNull AtomicLong frame, final long generation) {
+    long current;
+    do {
+      current = frame.get();
+      if (current > generation) {
+        return false;
+      }
+    } while (current != generation && !frame.compareAndSet(current, generation));
+    return true;
+  }
+
+  /**
+   * Stores the given line in the back buffer, it is sent by the
+   * next {@link #swapBufferedLines()}. The buffer is only accessed
+   * by a single updater at a time.
+   *
+   * @param index the line index.
+   * @param lineComponent the rendered line.
+   * @return Whether the line was buffered, {@code false} if the index
+   *     is out of the buffer range, and it must be sent directly.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public boolean bufferLine(final int index, final @NotNull Component lineComponent) {
+    if (index < 0 || index >= PlayerSlotArena.MAX_LINES) {
+      return false;
+    }
+    this.bufferedLines[index] = lineComponent;
+    this.bufferedLinesMask |= 1 << index;
+    return true;
+  }
+
+  /**
+   * Discards the buffered line at the given index, so a line
+   * sent directly is not replaced by an older render.
+   *
+   * @param index the line index.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public void discardBufferedLine(final int index) {
+    if (index < 0 || index >= PlayerSlotArena.MAX_LINES) {
+      return;
+    }
+    this.bufferedLines[index] = null;
+    this.bufferedLinesMask &= ~(1 << index);
+  }
+
+  /**
+   * Discards every buffered line, such as when a new content
+   * is sent directly.
+   *
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public void discardBufferedLines() {
+    if (this.bufferedLinesMask == 0) {
+      return;
+    }
+    Arrays.fill(this.bufferedLines, null);
+    this.bufferedLinesMask = 0;
+  }
+
+  /**
+   * Sends every buffered line to the sidebar, and clears
+   * the back buffer.
+   *
+   * @return The amount of lines sent.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public int swapBufferedLines() {
+    var mask = this.bufferedLinesMask;
+    this.bufferedLinesMask = 0;
+    var sentLines = 0;
+    while (mask != 0) {
+      final var index = Integer.numberOfTrailingZeros(mask);
+      mask &= mask - 1;
+      final var lineComponent = this.bufferedLines[index];
+      this.bufferedLines[index] = null;
+      if (this.updateLine(index, lineComponent)) {
+        sentLines++;
+      }
+    }
+    return sentLines;
+  }
+
+  /**
+   * Returns the last snapshot captured for the player.
+   *
+   * @return The {@link PlayerSnapshot}, or {@code null} if
+   *     it was not captured yet.
+   * @since 0.0.1
+   */
+  public @Nullable PlayerSnapshot snapshot() {
+    return this.snapshot;
+  }
+
+  /**
+   * Establishes a new snapshot for the player, it is published
+   * to the async renderers.
+   *
+   * @param newSnapshot the new {@link PlayerSnapshot}.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public void snapshot(final @NotNull PlayerSnapshot newSnapshot) {
+    this.snapshot = newSnapshot;
+  }
+
+  /**
+   * Marks the lines with the given key as invalidated, the
+   * marks are coalesced until they are drained.
+   *
+   * @param lineKey the key of the lines.
+   * @return Whether this model wasn't invalidated before, and
+   *     must be queued to be drained.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public boolean invalidate(final @NotNull String lineKey) {
+    this.invalidatedKeys.add(lineKey);
+    return this.invalidated.compareAndSet(false, true);
+  }
+
+  /**
+   * Drains the keys of the invalidated lines.
+   *
+   * @return The invalidated keys.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public @NotNull Set<@NotNull String> drainInvalidatedKeys() {
+    // The flag is cleared first, so a key added during the drain
+    // queues this model again.
+    this.invalidated.set(false);
+    final var drainedKeys = new HashSet<String>(this.invalidatedKeys.size());
+    final var iterator = this.invalidatedKeys.iterator();
+    while (iterator.hasNext()) {
+      drainedKeys.add(iterator.next());
+      iterator.remove();
+    }
+    return drainedKeys;
+  }
+
+  /**
+   * Checks whether the static lines of the given content were
+   * already sent to this scoreboard.
+   *
+   * @param content the content that holds the static lines.
+   * @return Whether the static lines were already sent.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public boolean staticContentSent(final @NotNull Object content) {
+    return this.sentStaticContent == content;
+  }
+
+  /**
+   * Marks the static lines of the given content as sent to
+   * this scoreboard, until a different content is used.
+   *
+   * @param content the content that holds the static lines.
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public void markStaticContentSent(final @NotNull Object content) {
+    this.sentStaticContent = content;
+  }
+
+  /**
+   * Marks the static lines as outdated, so they are sent again
+   * by the next update, such as after a change of the locale.
+   *
+   * @since 0.0.1
+   */
+  @ApiStatus.Internal
+  public void markStaticContentOutdated() {
+    this.sentStaticContent = null;
+  }
+
+  /**
+   * Returns the current toggle-state for this scoreboard.
+   *
+   * @return The {@link ScoreboardToggleStateType}.
+   * @since 0.0.1
+   */
+  public @NotNull ScoreboardToggleStateType toggleState() {
+    return this.arena.toggleState(this.slot);
+  }
+
   /**
    * Removes this scoreboard for the player with
    * this assigned model.
@@ -53,7 +420,11 @@ public record CachedScoreboardModel(@NotNull Player player, @NotNull Sidebar int
     // As the scoreboard isn't closed for the player yet, we remove
     // to player from this sidebar, and we close the scoreboard.
     this.internal.removePlayer(this.player);
-    this.internal.close();
+    // A shared sidebar is still used by the other players, so
+    // it is only closed during shutdown.
+    if (!this.shared) {
+      this.internal.close();
+    }
     return true;
   }
 
@@ -71,24 +442,33 @@ public record CachedScoreboardModel(@NotNull Player player, @NotNull Sidebar int
     // If the player scoreboard is on 'hide' state, we check for this.
     // If it is true, we return a false boolean state. Otherwise
     // we set the new title component for this scoreboard.
-    if (this.toggleState == ScoreboardToggleStateType.CLOSED) {
+    if (this.toggleState() == ScoreboardToggleStateType.CLOSED) {
       return false;
     }
-    // Define new title component.
-    this.internal.title(newTitle);
+    // Define new title component, the tracker records it too, so
+    // the title-animation doesn't take it as already sent.
+    if (this.arena.titleDirty(this, newTitle)) {
+      this.internal.title(newTitle);
+    }
     return true;
   }
 
   /**
    * Updates the content for the specified line with the
-   * given component.
+   * given component, only if it is different from the
+   * last content sent for that line.
    *
    * @param index the line number.
    * @param lineComponent the component for that line.
+   * @return Whether the line was sent to the sidebar.
    * @since 0.0.1
    */
-  public void updateLine(final int index, final @NotNull Component lineComponent) {
+  public boolean updateLine(final int index, final @NotNull Component lineComponent) {
+    if (!this.arena.lineDirty(this, index, lineComponent)) {
+      return false;
+    }
     this.internal.line(index, lineComponent);
+    return true;
   }
 
   /**
@@ -98,31 +478,46 @@ public record CachedScoreboardModel(@NotNull Player player, @NotNull Sidebar int
    * {@code updateTitle()} method is used during title-animation.
    *
    * @param titleComponent the new title component.
+   * @return Whether the title was sent to the sidebar.
    * @since 0.0.1
    */
-  public void updateTitle(final @NotNull Component titleComponent) {
+  public boolean updateTitle(final @NotNull Component titleComponent) {
+    if (!this.arena.titleDirty(this, titleComponent)) {
+      return false;
+    }
     this.internal.title(titleComponent);
+    return true;
   }
 
   /**
    * Toggles the visibility of the scoreboard for
    * the current player.
+   * <p>
+   * The toggle-state is flipped with a single atomic write,
+   * so the updater threads see the new state immediately.
    *
    * @return The new {@link ScoreboardToggleStateType}
-   *     for this operation.
+   *     for this operation, {@link ScoreboardToggleStateType#CLOSED}
+   *     without any change if this model was already removed.
    * @since 0.0.1
    */
   public @NotNull ScoreboardToggleStateType toggleVisibility() {
+    final var newToggleState = this.arena.toggle(this);
+    // A removed model doesn't own their slot anymore, it must never
+    // toggle the scoreboard of the player that reuses it.
+    if (newToggleState == null) {
+      return ScoreboardToggleStateType.CLOSED;
+    }
     // If the previous toggle-state for the scoreboard
     // was 'CLOSED', then we show again the scoreboard
-    // to the player and return the toggle-state as 'VISIBLE'.
-    if (this.toggleState == ScoreboardToggleStateType.CLOSED) {
+    // to the player.
+    if (newToggleState == ScoreboardToggleStateType.VISIBLE) {
       this.internal.addPlayer(this.player);
-      return ScoreboardToggleStateType.VISIBLE;
+      return newToggleState;
     }
     // The scoreboard was hide, so we need to remove the
     // player for him can't see the scoreboard.
     this.internal.removePlayer(this.player);
-    return ScoreboardToggleStateType.CLOSED;
+    return newToggleState;
   }
 }
@@ -1,5 +1,5 @@
 /**
- * Provides record model for the scoreboards.
+ * Provides the cached model for the scoreboards.
  *
  * @since 0.0.1
  */
@@ -0,0 +1,135 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import me.qeklydev.scoreboard.config.Configuration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the scoreboards content already
+ * deserialized with MiniMessage, it is built once when the
+ * configuration is loaded, and rebuilt only during reload.
+ * The placeholders of every line are rendered later, for
+ * each player.
+ * <p>
+ * The provided arrays are shared between every updater
+ * and must not be modified.
+ *
+ * @param single the lines for the 'SINGLE' mode.
+ * @param worlds the lines for the 'WORLD' mode, keyed by
+ *               the targeted world name.
+ * @param title the frames for the scoreboard title.
+ * @since 0.0.1
+ */
+public record CompiledContentTable(CompiledLine @NotNull [] single, @NotNull Map<@NotNull String, CompiledLine @NotNull []> worlds,
+                                   CompiledLine @NotNull [] title) {
+  /**
+   * Returns the compiled lines for the specified world.
+   *
+   * @param worldName the world name.
+   * @return The compiled lines, or {@code null} if there's
+   *     no section configured for that world.
+   * @since 0.0.1
+   */
+  public CompiledLine @Nullable [] world(final @NotNull String worldName) {
+    return this.worlds.get(worldName);
+  }
+
+  /**
+   * Returns the shortest refresh interval declared by any
+   * dynamic line, for any scoreboard mode. The static lines are
+   * never refreshed, so their interval is ignored.
+   *
+   * @return The shortest refresh interval in milliseconds, or
+   *     zero if no line declares one.
+   * @since 0.0.1
+   */
+  public long minRefreshMillis() {
+    var minRefreshMillis = minRefreshMillis(this.single, 0);
+    for (final var lines : this.worlds.values()) {
+      minRefreshMillis = minRefreshMillis(lines, minRefreshMillis);
+    }
+    return minRefreshMillis;
+  }
+
+  /**
+   * Returns the mask of the snapshot fields referenced by any
+   * line or title frame, for any scoreboard mode.
+   *
+   * @return The snapshot fields mask.
+   * @since 0.0.1
+   */
+  public int snapshotFields() {
+    var snapshotFields = snapshotFields(this.single) | snapshotFields(this.title);
+    for (final var lines : this.worlds.values()) {
+      snapshotFields |= snapshotFields(lines);
+    }
+    return snapshotFields;
+  }
+
+  private static int snapshotFields(final CompiledLine @NotNull [] lines) {
+    var snapshotFields = 0;
+    for (final var line : lines) {
+      snapshotFields |= line.snapshotFields();
+    }
+    return snapshotFields;
+  }
+
+  private static long minRefreshMillis(final CompiledLine @NotNull [] lines, long minRefreshMillis) {
+    for (final var line : lines) {
+      if (!line.dynamic()) {
+        continue;
+      }
+      final var refreshMillis = line.refreshMillis();
+      if (refreshMillis > 0 && (minRefreshMillis == 0 || refreshMillis < minRefreshMillis)) {
+        minRefreshMillis = refreshMillis;
+      }
+    }
+    return minRefreshMillis;
+  }
+
+  /**
+   * Creates a new content table deserializing every line
+   * and title frame specified in the configuration.
+   *
+   * @param config the configuration model.
+   * @return The {@link CompiledContentTable}.
+   * @since 0.0.1
+   */
+  public static @NotNull CompiledContentTable of(final @NotNull Configuration config) {
+    final var worlds = new HashMap<String, CompiledLine[]>(config.scoreboardForWorlds.length);
+    for (final var section : config.scoreboardForWorlds) {
+      // The first section defined for a world is the one that
+      // is used, same as the previous lookup behaviour.
+      worlds.putIfAbsent(section.targetedWorld, compile(section.content));
+    }
+    return new CompiledContentTable(compile(config.content), Map.copyOf(worlds), compile(config.titleContent));
+  }
+
+  private static CompiledLine @NotNull [] compile(final @NotNull List<@NotNull String> content) {
+    final var lines = new CompiledLine[content.size()];
+    for (int index = 0; index < lines.length; index++) {
+      lines[index] = CompiledLine.of(content.get(index));
+    }
+    return lines;
+  }
+}
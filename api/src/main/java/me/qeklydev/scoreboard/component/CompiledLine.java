@@ -0,0 +1,282 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import me.qeklydev.scoreboard.snapshot.SnapshotField;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents a single line of the scoreboards content,
+ * the source is kept to render the placeholders for every player,
+ * and the component is the line deserialized without them.
+ * <p>
+ * During compilation the placeholders referenced by the line are
+ * collected, a line without them is static, and the updaters never
+ * need to render it again.
+ * <p>
+ * A line can start with directives, with the format '[name=value]',
+ * they are removed from the source during compilation. The available
+ * directives are:
+ * <p></p>
+ *     - 'refresh': the refresh interval for this line, in seconds, or
+ *     in milliseconds with the 'ms' suffix, such as '[refresh=500ms]'.<p></p>
+ *     - 'key': the key used by other plugins to invalidate this line,
+ *     such as '[key=kills]'.
+ *
+ * @param source the MiniMessage source of the line.
+ * @param component the line deserialized without placeholders.
+ * @param placeholders the PlaceholderAPI placeholders referenced,
+ *                     including the '%' characters.
+ * @param tags the non-standard MiniMessage tags referenced, with
+ *             the format '&lt;name:arguments&gt;'.
+ * @param snapshotFields the mask of the {@link SnapshotField}s referenced
+ *                       with the '&lt;snapshot:field&gt;' tag.
+ * @param translatable whether the line contains translatable components,
+ *                     which are rendered for the locale of every player.
+ * @param refreshMillis the refresh interval for this line, or zero
+ *                      to use the frame update-rate.
+ * @param key the invalidation key for this line, or {@code null}.
+ * @since 0.0.1
+ */
+public record CompiledLine(@NotNull String source, @NotNull Component component,
+                           @NotNull String @NotNull [] placeholders, @NotNull String @NotNull [] tags,
+                           int snapshotFields, boolean translatable, long refreshMillis, @Nullable String key) {
+  private static final TagResolver STANDARD_TAGS = TagResolver.standard();
+  private static final String SNAPSHOT_TAG = "snapshot";
+
+  /**
+   * Returns whether this line references any placeholder, and
+   * must be rendered for every player.
+   *
+   * @return Whether this line is dynamic.
+   * @since 0.0.1
+   */
+  public boolean dynamic() {
+    return this.placeholders.length > 0 || this.tags.length > 0 || this.snapshotFields != 0;
+  }
+
+  /**
+   * Returns the refresh interval for this line.
+   *
+   * @param frameMillis the frame update-rate in milliseconds.
+   * @return The refresh interval in milliseconds.
+   * @since 0.0.1
+   */
+  public long refreshMillis(final long frameMillis) {
+    return (this.refreshMillis > 0) ? this.refreshMillis : frameMillis;
+  }
+
+  /**
+   * Creates a new compiled line parsing their directives,
+   * deserializing the given MiniMessage source, and collecting
+   * their placeholders.
+   *
+   * @param line the configured line, with their directives.
+   * @return The {@link CompiledLine}.
+   * @since 0.0.1
+   */
+  public static @NotNull CompiledLine of(final @NotNull String line) {
+    var source = line;
+    var refreshMillis = 0L;
+    String key = null;
+    // The directives are only read at the start of the line, any
+    // unknown one is kept as part of the content.
+    while (source.startsWith("[")) {
+      final var end = source.indexOf(']');
+      final var separator = source.indexOf('=');
+      if (end < 0 || separator < 0 || separator > end) {
+        break;
+      }
+      final var name = source.substring(1, separator).trim();
+      final var value = source.substring(separator + 1, end).trim();
+      if (name.equals("refresh")) {
+        refreshMillis = parseMillis(value);
+      } else if (name.equals("key")) {
+        key = value;
+      } else {
+        break;
+      }
+      source = source.substring(end + 1);
+    }
+    final var component = ComponentUtils.ofSingle(source);
+    return new CompiledLine(source, component, placeholdersOf(source), tagsOf(source),
+        snapshotFieldsOf(source), translatableOf(component), refreshMillis, key);
+  }
+
+  /**
+   * Returns the key of a tag with the given name and parsed
+   * arguments, the same key is used to cache the resolved tag
+   * and to invalidate it, whatever the quoting of the arguments.
+   *
+   * @param name the tag name.
+   * @param arguments the parsed argument values.
+   * @return The tag key, with the format '&lt;name:argument&gt;'.
+   * @since 0.0.1
+   */
+  public static @NotNull String tagKey(final @NotNull String name, final @NotNull List<@NotNull String> arguments) {
+    final var key = new StringBuilder("<").append(name);
+    for (final var argument : arguments) {
+      key.append(':').append(argument);
+    }
+    return key.append('>').toString();
+  }
+
+  private static boolean translatableOf(final @NotNull Component component) {
+    if (component instanceof TranslatableComponent) {
+      return true;
+    }
+    for (final var child : component.children()) {
+      if (translatableOf(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long parseMillis(final @NotNull String value) {
+    try {
+      return value.endsWith("ms")
+          ? Long.parseLong(value.substring(0, value.length() - 2).trim())
+          : TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+    } catch (final NumberFormatException exception) {
+      // An invalid interval uses the frame update-rate.
+      return 0;
+    }
+  }
+
+  private static @NotNull String @NotNull [] placeholdersOf(final @NotNull String source) {
+    final var placeholders = new ArrayList<String>(0);
+    var index = 0;
+    while (true) {
+      final var start = source.indexOf('%', index);
+      final var end = (start < 0) ? -1 : source.indexOf('%', start + 1);
+      if (end < 0) {
+        break;
+      }
+      final var placeholder = source.substring(start, end + 1);
+      // Isn't a valid placeholder, so the closing '%' could be the
+      // opening of the next one.
+      if (end == start + 1 || placeholder.indexOf(' ') >= 0) {
+        index = end;
+        continue;
+      }
+      if (!placeholders.contains(placeholder)) {
+        placeholders.add(placeholder);
+      }
+      index = end + 1;
+    }
+    return placeholders.toArray(String[]::new);
+  }
+
+  private static int snapshotFieldsOf(final @NotNull String source) {
+    var snapshotFields = 0;
+    for (final var field : SnapshotField.values()) {
+      if (source.contains(field.tag())) {
+        snapshotFields |= field.mask();
+      }
+    }
+    return snapshotFields;
+  }
+
+  private static @NotNull String @NotNull [] tagsOf(final @NotNull String source) {
+    final var tags = new ArrayList<String>(0);
+    var index = 0;
+    while (true) {
+      final var start = source.indexOf('<', index);
+      final var end = (start < 0) ? -1 : tagEndOf(source, start + 1);
+      if (end < 0) {
+        break;
+      }
+      index = end + 1;
+      final var content = source.substring(start + 1, end);
+      // Closing tags don't resolve anything.
+      if (content.isEmpty() || content.charAt(0) == '/') {
+        continue;
+      }
+      final var arguments = argumentsOf(content);
+      final var name = arguments.remove(0).toLowerCase(Locale.ROOT);
+      // The snapshot tags are rendered from the player snapshot.
+      if (name.isEmpty() || name.equals(SNAPSHOT_TAG) || STANDARD_TAGS.has(name)) {
+        continue;
+      }
+      // The key is built from the parsed values, as the resolver does,
+      // so a quoted argument matches the same cache entry.
+      final var tag = tagKey(name, arguments);
+      if (!tags.contains(tag)) {
+        tags.add(tag);
+      }
+    }
+    return tags.toArray(String[]::new);
+  }
+
+  private static int tagEndOf(final @NotNull String source, final int from) {
+    var quote = '\0';
+    for (int index = from; index < source.length(); index++) {
+      final var character = source.charAt(index);
+      if (quote != '\0') {
+        if (character == '\\' && index + 1 < source.length() && source.charAt(index + 1) == quote) {
+          index++;
+        } else if (character == quote) {
+          quote = '\0';
+        }
+      } else if (character == '\'' || character == '"') {
+        quote = character;
+      } else if (character == '>') {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private static @NotNull List<@NotNull String> argumentsOf(final @NotNull String content) {
+    // The content is split as MiniMessage does, the quotes are
+    // removed from the values, and their escapes are unescaped.
+    final var arguments = new ArrayList<String>();
+    final var argument = new StringBuilder();
+    var quote = '\0';
+    for (int index = 0; index < content.length(); index++) {
+      final var character = content.charAt(index);
+      if (quote != '\0') {
+        if (character == '\\' && index + 1 < content.length() && content.charAt(index + 1) == quote) {
+          argument.append(content.charAt(++index));
+        } else if (character == quote) {
+          quote = '\0';
+        } else {
+          argument.append(character);
+        }
+      } else if (character == '\'' || character == '"') {
+        quote = character;
+      } else if (character == ':') {
+        arguments.add(argument.toString());
+        argument.setLength(0);
+      } else {
+        argument.append(character);
+      }
+    }
+    arguments.add(argument.toString());
+    return arguments;
+  }
+}
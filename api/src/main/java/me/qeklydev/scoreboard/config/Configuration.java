@@ -38,14 +38,89 @@ public final class Configuration implements ConfigurationInterface {
       Requires the use-scoreboard-animated-title option enabled.
 
       The update-rate value for the scoreboard title
-      content update.""")
+      content update, in seconds. Only used if the
+      scoreboard-title-update-rate-millis option is 0.""")
   public byte scoreboardTitleUpdateRate = 10;
 
+  @Comment("""
+      Requires the use-scoreboard-animated-title option enabled.
+
+      The update-rate value for the scoreboard title content update,
+      in milliseconds, such as 100 for a new title frame every two
+      game ticks, it is rounded up to the 50ms resolution.
+      Use 0 to use the scoreboard-title-update-rate option instead.""")
+  public int scoreboardTitleUpdateRateMillis = 0;
+
   @Comment("""
       The update-rate value for the scoreboard frame (lines)
       content update.""")
   public byte scoreboardFrameUpdateRate = 20;
 
+  @Comment("""
+      The amount of worker threads used to execute the scoreboard
+      updaters, every updater is scheduled by a single timing thread
+      with a 50ms resolution, and executed on these workers.""")
+  public byte schedulerWorkerThreads = 2;
+
+  @Comment("""
+      The amount of partitions in which the scoreboards are split
+      to render their lines in parallel, every frame is completed
+      once all the partitions have been processed.
+      Use 1 to render all the scoreboards on a single thread.
+      Changes on this option require a restart.""")
+  public byte updaterParallelism = 1;
+
+  @Comment("""
+      Whether the work of every scoreboard should be executed on its
+      own virtual thread, useful when placeholders do blocking calls.
+      Requires Java 21 or newer, otherwise this option is ignored.
+      Changes on this option require a restart.""")
+  public boolean useVirtualThreads = false;
+
+  @Comment("""
+      The amount of slices in which the frame update-rate is split,
+      on every slice only a part of the players is updated, so the
+      packets are spread over the whole period instead of being sent
+      at once, every player keeps the same update-rate.
+      Use 1 to update every player at once.""")
+  public byte scoreboardFrameSlices = 1;
+
+  @Comment("""
+      Whether the lines are rendered into a back buffer, and sent at
+      the start of the next frame, so they are shown at a steady rate
+      even if the render time changes between frames.
+      The trade-off is latency, every dynamic line is shown a whole
+      frame update-rate after its placeholders were resolved, with the
+      default rate that is 20 seconds late. A new content is always
+      sent without waiting. Disabled by default.""")
+  public boolean scoreboardFrameBuffering = false;
+
+  @Comment("""
+      The time in milliseconds during which the value of every
+      PlaceholderAPI and MiniPlaceholders placeholder is cached for
+      each player, use 0 to resolve them on every update.""")
+  public int placeholderCacheTtl = 1000;
+
+  @Comment("""
+      The maximum time in milliseconds that a placeholder resolution
+      can take, when exceeded the last known value is shown instead.
+      Use 0 to resolve them without any time limit.""")
+  public int placeholderTimeout = 50;
+
+  @Comment("""
+      The consecutive failed resolutions, timeouts or errors, after
+      which an expansion is no longer called during the cooldown,
+      their placeholders keep the last known value meanwhile.""")
+  public int placeholderFailureThreshold = 3;
+
+  @Comment("The time in milliseconds that a failing expansion is no longer called.")
+  public int placeholderFailureCooldown = 30000;
+
+  @Comment("""
+      Backs off the frame and title update-rates while the server
+      is under load, based on the average tick duration (MSPT).""")
+  public AdaptiveRefreshSection adaptiveRefresh = new AdaptiveRefreshSection();
+
   @Comment("""
       The scoreboard type that will be used.
       There are only 2 available modes.
@@ -54,6 +129,18 @@ public final class Configuration implements ConfigurationInterface {
       - WORLD -> There's a different scoreboard for each configured world.""")
   public String scoreboardMode = "SINGLE";
 
+  @Comment("""
+      Requires the 'SINGLE' scoreboard mode.
+
+      Use a same shared sidebar for all players instead of a
+      sidebar per player? Every frame is rendered and sent once
+      for all the viewers, and toggling only adds or removes the
+      player from it. Changes on this option require a restart.
+      The lines are rendered without a player, so the per-player
+      placeholders and the '<snapshot:*>' tags are rendered empty,
+      or with their global value, on the shared sidebar.""")
+  public boolean useSharedSidebar = false;
+
   @Comment("""
         This option is global, will be applied for
         any scoreboard mode.
@@ -68,7 +155,15 @@ public final class Configuration implements ConfigurationInterface {
   @Comment("""
         THIS IS FOR 'SINGLE' SCOREBOARD MODE.
 
-        This content will be used for the scoreboard lines.""")
+        This content will be used for the scoreboard lines.
+        A line can declare its own refresh interval starting with
+        '[refresh=seconds]' or '[refresh=500ms]', otherwise it uses
+        the frame update-rate. A line can also declare a key with
+        '[key=name]', so other plugins can invalidate it through the
+        API and it's rendered again immediately.
+        The player state can be shown with the '<snapshot:field>' tag, with
+        the fields: name, world, health, food, level, ping, x, y, z and
+        gamemode, they are captured every tick on the main thread.""")
   public List<String> content = List.of(
       "",
       "");
@@ -78,6 +173,32 @@ public final class Configuration implements ConfigurationInterface {
       pre-defined.""")
   public ScoreboardSection[] scoreboardForWorlds = { new ScoreboardSection() };
 
+  @ConfigSerializable
+  public static class AdaptiveRefreshSection {
+    @Comment("Whether the update-rates should be adapted to the server load.")
+    public boolean enabled = false;
+
+    @Comment("The MSPT from which the update-rates are multiplied by the backoff-multiplier.")
+    public double backoffMspt = 40.0;
+
+    @Comment("The MSPT from which the update-rates are multiplied by the critical-multiplier.")
+    public double criticalMspt = 48.0;
+
+    @Comment("""
+        The MSPT must be lower than the threshold of the current level
+        minus this value to recover the previous level.""")
+    public double hysteresisMspt = 5.0;
+
+    @Comment("The amount of consecutive samples (one per second) needed to recover a level.")
+    public int recoverySamples = 5;
+
+    @Comment("The multiplier for the update-rates when the backoff MSPT is crossed.")
+    public int backoffMultiplier = 2;
+
+    @Comment("The multiplier for the update-rates when the critical MSPT is crossed.")
+    public int criticalMultiplier = 4;
+  }
+
   @ConfigSerializable
   public static class ScoreboardSection {
     @Comment("""
@@ -85,7 +206,9 @@ public final class Configuration implements ConfigurationInterface {
         also, actuate like an identifier for this section.""")
     public String targetedWorld = "world";
 
-    @Comment("This content will be used for the scoreboard lines.")
+    @Comment("""
+        This content will be used for the scoreboard lines, the lines
+        accept the same directives as the 'content' option.""")
     public List<String> content = List.of(
         "",
         "");
@@ -43,4 +43,13 @@ public final class Messages implements ConfigurationInterface {
   public String scoreboardEnabled = "<prefix> <green>Scoreboard has been enabled!";
 
   public String scoreboardDisabled = "<prefix> <red>Scoreboard has been disabled!";
+
+  public List<String> diagnostics = List.of(
+      "<prefix> <gray>Scoreboard diagnostics:",
+      " <gray>Adaptive refresh level: <white><level></white> (x<multiplier>), last MSPT: <white><mspt></white>",
+      " <gray>Backoffs: <white><backoffs></white>, recoveries: <white><recoveries></white>");
+
+  public String diagnosticsExecutor = " <gray><model>: <white><executions></white> runs, last <white><last></white>, max <white><max></white>, overruns <white><overruns></white> (<overrun>), skipped <white><skipped></white>";
+
+  public String diagnosticsExpansion = " <gray>Expansion <white><expansion></white>: <white><state></white>, failures <white><failures></white>, trips <white><trips></white>, rejected <white><rejections></white>";
 }
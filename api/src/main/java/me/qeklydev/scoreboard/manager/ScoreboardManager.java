@@ -17,7 +17,9 @@
  */
 package me.qeklydev.scoreboard.manager;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
 import me.qeklydev.scoreboard.component.ComponentUtils;
 import me.qeklydev.scoreboard.config.Configuration;
@@ -27,10 +29,12 @@ import me.qeklydev.scoreboard.event.ScoreboardCreateEvent;
 import me.qeklydev.scoreboard.event.ScoreboardToggleEvent;
 import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
 import me.qeklydev.scoreboard.thread.CustomExecutorThreadModel;
+import me.qeklydev.scoreboard.thread.ScoreboardTimingWheel;
 import me.qeklydev.scoreboard.type.ScoreboardToggleStateType;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import net.megavex.scoreboardlibrary.api.ScoreboardLibrary;
 import net.megavex.scoreboardlibrary.api.exception.NoPacketAdapterAvailableException;
+import net.megavex.scoreboardlibrary.api.sidebar.Sidebar;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -52,15 +56,17 @@ public final class ScoreboardManager {
   private final ComponentLogger logger;
   private final ScoreboardModelRepository repository;
   private final ConfigurationProvider<Configuration> configProvider;
+  private final List<CustomExecutorThreadModel> customExecutorModels;
   private ScoreboardLibrary scoreboardLibrary;
-  @SuppressWarnings("unused")
-  private List<CustomExecutorThreadModel> customExecutorModels;
+  private ScoreboardTimingWheel timingWheel;
+  private volatile CustomExecutorThreadModel invalidationExecutorModel;
 
   public ScoreboardManager(final @NotNull ComponentLogger logger, final @NotNull ScoreboardModelRepository repository,
                            final @NotNull ConfigurationProvider<@NotNull Configuration> configProvider) {
     this.repository = repository;
     this.logger = logger;
     this.configProvider = configProvider;
+    this.customExecutorModels = new CopyOnWriteArrayList<>();
   }
 
   /**
@@ -81,12 +87,24 @@ public final class ScoreboardManager {
       this.logger.error("No packet adapter was founded for the scoreboard library", exception);
       return false;
     }
+    // A single timing wheel multiplexes every executor model, instead
+    // of a thread for each one of them.
+    this.timingWheel = new ScoreboardTimingWheel(this.configProvider.get().schedulerWorkerThreads);
     this.logger.info("Checking for valid scoreboard-mode.");
     final var scoreboardMode = this.configProvider.get().scoreboardMode;
     return switch (scoreboardMode) {
       // Valid scoreboard modes ->
       case "SINGLE", "WORLD" -> {
         this.logger.info("Detected '{}' scoreboard mode as valid.", scoreboardMode);
+        // On 'SINGLE' mode all players see the same content, so a single
+        // sidebar can hold every viewer if the option is enabled.
+        final var config = this.configProvider.get();
+        if (scoreboardMode.equals("SINGLE") && config.useSharedSidebar) {
+          final var sharedSidebar = this.scoreboardLibrary.createSidebar();
+          sharedSidebar.title(ComponentUtils.ofSingle(config.titleContent.get(0)));
+          this.repository.sharedSidebar(sharedSidebar);
+          this.logger.info("Using a shared sidebar for all players.");
+        }
         yield true;
       }
       // Any different scoreboard mode.
@@ -97,6 +115,27 @@ public final class ScoreboardManager {
     };
   }
 
+  /**
+   * Returns the executor models scheduled by this manager.
+   *
+   * @return An unmodifiable view of the scheduled {@link CustomExecutorThreadModel}s.
+   * @since 0.0.1
+   */
+  public @NotNull List<@NotNull CustomExecutorThreadModel> executorModels() {
+    return Collections.unmodifiableList(this.customExecutorModels);
+  }
+
+  /**
+   * Sets the executor model that processes the invalidated lines,
+   * only this model is flushed when a line is invalidated.
+   *
+   * @param executorModel the {@link CustomExecutorThreadModel}.
+   * @since 0.0.1
+   */
+  public void invalidationExecutorModel(final @NotNull CustomExecutorThreadModel executorModel) {
+    this.invalidationExecutorModel = executorModel;
+  }
+
   /**
    * Uses the given executor thread model list to provide it
    * to the custom executor model list.
@@ -106,17 +145,7 @@ public final class ScoreboardManager {
    */
   public void scheduleWithProvidedExecutors(final @NotNull List<@NotNull CustomExecutorThreadModel> providedExecutorModels) {
     for (final var executorThreadModel : providedExecutorModels) {
-      // If unexpected, due to some reason a provided
-      // executor model is running, skip the iteration.
-      if (executorThreadModel.running()) {
-        continue;
-      }
-      // If the period-rate for the executor is not defined
-      // yet, define a default value -> 20.
-      if (executorThreadModel.periodRate() <= 0) {
-        executorThreadModel.periodRate(20);
-      }
-      executorThreadModel.schedule();
+      this.scheduleWithProvidedExecutor(executorThreadModel);
     }
   }
 
@@ -128,22 +157,18 @@ public final class ScoreboardManager {
    * @since 0.0.1
    */
   public void scheduleWithProvidedExecutor(final @NotNull CustomExecutorThreadModel providedExecutorModel) {
-    this.customExecutorModels.add(providedExecutorModel);
-    // If the given executor is already running, we do nothing.
-    if (providedExecutorModel.running()) {
-      return;
-    }
     // If unexpected, due to some reason a provided
-    // executor model is running, skip the iteration.
+    // executor model is running, we do nothing.
     if (providedExecutorModel.running()) {
       return;
     }
+    this.customExecutorModels.add(providedExecutorModel);
     // If the period-rate for the executor is not defined
-    // yet, define a default value -> 20.
-    if (providedExecutorModel.periodRate() <= 0) {
+    // yet, define a default value -> 20 seconds.
+    if (providedExecutorModel.periodMillis() <= 0) {
       providedExecutorModel.periodRate(20);
     }
-    providedExecutorModel.schedule();
+    providedExecutorModel.schedule(this.timingWheel);
   }
 
   /**
@@ -165,6 +190,11 @@ public final class ScoreboardManager {
     if (!this.customExecutorModels.isEmpty()) {
       this.shutdownExecutorModels();
     }
+    // After the models, the threads of the timing wheel
+    // can be shutdown.
+    if (this.timingWheel != null) {
+      this.logger.info("Shutdown result for 'ScoreboardTimingWheelExecutor' thread is: {}", this.timingWheel.shutdown());
+    }
     this.repository.clear();
     this.scoreboardLibrary.close();
   }
@@ -187,7 +217,7 @@ public final class ScoreboardManager {
       if (executorShutdownResult.failed()) {
         this.logger.warn("Incorrectly shutdown on current CustomExecutorThreadModel.");
       }
-      this.logger.info("Shutdown result for 'ScoreboardUpdatingExecutor' thread is: {}", executorShutdownResult);
+      this.logger.info("Shutdown result for '{}' executor model is: {}", executorThreadModel.getClass().getSimpleName(), executorShutdownResult);
     }
   }
 
@@ -198,66 +228,68 @@ public final class ScoreboardManager {
    * @since 0.0.1
    */
   public void create(final @NotNull Player player) {
-    final var scoreboardModel = this.createNeededModelForPlayer(player);
-    // Checks if the provided scoreboard model is nullable,
+    final var scoreboardModelSidebar = this.createNeededSidebarForPlayer(player);
+    // Checks if the provided sidebar is nullable,
     // or not.
-    if (scoreboardModel == null) {
+    if (scoreboardModelSidebar == null) {
       return;
     }
+    // The slot is only reserved before the event, so the event
+    // provides the same model that the updaters will use, but the
+    // model is registered once the event was not cancelled.
+    final var scoreboardModel = this.repository.reserve(player, scoreboardModelSidebar);
     final var scoreboardCreateEvent = new ScoreboardCreateEvent(player, scoreboardModel);
     Bukkit.getPluginManager().callEvent(scoreboardCreateEvent);
     // Avoid totally scoreboard creation for the player
     // if the event was cancelled.
     if (scoreboardCreateEvent.isCancelled()) {
+      this.repository.cancel(scoreboardModel);
       return;
     }
+    this.repository.register(scoreboardModel);
     final var config = this.configProvider.get();
-    final var scoreboardModelSidebar = scoreboardModel.internal();
     scoreboardModelSidebar.addPlayer(player);
     // In case that animated-title isn't enabled, we need to define manually
     // the title for the scoreboard, so we use the first element of the animated-title
-    // content list as static-title for the scoreboard.
-    if (config.useScoreboardAnimatedTitle) {
-      scoreboardModelSidebar.title(ComponentUtils.ofSingle(config.titleContent.get(0)));
+    // content list as static-title for the scoreboard. A shared sidebar already
+    // has their title defined during load.
+    if (config.useScoreboardAnimatedTitle && !scoreboardModel.shared()) {
+      scoreboardModel.updateTitle(ComponentUtils.ofSingle(config.titleContent.get(0)));
     }
-    this.repository.register(player, scoreboardModelSidebar);
   }
 
   /**
-   * Creates a new cached scoreboard model based on the
+   * Creates a new sidebar for the player based on the
    * information provided by the configuration.
    *
    * @param player the player for this scoreboard.
-   * @return The {@link CachedScoreboardModel} or {@code null}
+   * @return The {@link Sidebar} or {@code null}
    *     if mode or world specified isn't valid.
    * @since 0.0.1
    */
-  private @Nullable CachedScoreboardModel createNeededModelForPlayer(final @NotNull Player player) {
+  private @Nullable Sidebar createNeededSidebarForPlayer(final @NotNull Player player) {
     final var config = this.configProvider.get();
-    final var newSidebarObject = this.scoreboardLibrary.createSidebar();
-    // Provides the new cached scoreboard model based on
-    // the case ended, or null if the mode isn't valid.
+    // Provides the new sidebar based on the case ended,
+    // or null if the mode isn't valid.
     return switch (config.scoreboardMode) {
       case "WORLD" -> {
-        CachedScoreboardModel scoreboardModel = null;
+        final var playerWorldName = player.getWorld().getName();
+        Sidebar sidebar = null;
         for (final var section : config.scoreboardForWorlds) {
-          final var worldName = section.targetedWorld;
-          // Checks if the world specified exists and is loaded
-          // on the server, or if the player world name is equals
-          // than the currently iterated.
-          if ((Bukkit.getWorld(worldName) == null) || !player.getWorld().getName().equals(worldName)) {
+          // Checks if the player world name is equals than
+          // the currently iterated.
+          if (!playerWorldName.equals(section.targetedWorld)) {
             continue;
           }
-          scoreboardModel = new CachedScoreboardModel(
-              player, newSidebarObject,
-              ScoreboardToggleStateType.VISIBLE);
+          sidebar = this.scoreboardLibrary.createSidebar();
           break;
         }
-        yield scoreboardModel;
+        yield sidebar;
+      }
+      case "SINGLE" -> {
+        final var sharedSidebar = this.repository.sharedSidebar();
+        yield (sharedSidebar != null) ? sharedSidebar : this.scoreboardLibrary.createSidebar();
       }
-      case "SINGLE" -> new CachedScoreboardModel(
-          player, newSidebarObject,
-          ScoreboardToggleStateType.VISIBLE);
       default -> null;
     };
   }
@@ -276,8 +308,7 @@ public final class ScoreboardManager {
    * @see ScoreboardManager#TOGGLE_DISABLE_RESULT
    */
   public byte toggle(final @NotNull Player player) {
-    final var playerId = player.getUniqueId().toString();
-    final var scoreboardModel = this.repository.findOrNull(playerId);
+    final var scoreboardModel = this.repository.findOrNull(player.getUniqueId());
     // Check if the player have a scoreboard assigned
     // before toggle-state change.
     if (scoreboardModel == null) {
@@ -293,12 +324,10 @@ public final class ScoreboardManager {
     if (scoreboardToggleEvent.isCancelled()) {
       return FIRST_POSSIBLE_TOGGLE_RESULT;
     }
-    // Toggle visibility and state for the scoreboard,
-    // and use the provided toggle-state for update model
-    // ín repository cache, and provide a status code depending
-    // on new toggle-state type.
+    // Toggle visibility and state for the scoreboard, the state is
+    // flipped atomically in the repository slot, so there's no model
+    // to update, and provide a status code depending on new toggle-state type.
     final var newToggleStateProvided = scoreboardModel.toggleVisibility();
-    this.repository.update(player, newToggleStateProvided);
     // If the new toggle-state defined is the [CLOSED] type, we return
     // the [TOGGLE_DISABLE_RESULT] status with byte value of -> 2. Other-wise
     // we return the [TOGGLE_ENABLE_RESULT] status that aims to a byte data
@@ -307,6 +336,49 @@ public final class ScoreboardManager {
         ? TOGGLE_DISABLE_RESULT : TOGGLE_ENABLE_RESULT;
   }
 
+  /**
+   * Invalidates the lines with the given key for the player, they
+   * are rendered again on the next flush, without waiting for their
+   * refresh interval. The invalidations are coalesced until then.
+   *
+   * @param player the targeted player.
+   * @param lineKey the key of the lines, declared in the configuration
+   *                with the '[key=name]' directive.
+   * @return A boolean state for this operation, {@code true} if the
+   *     player has a scoreboard. Otherwise {@code false}.
+   * @since 0.0.1
+   */
+  public boolean invalidate(final @NotNull Player player, final @NotNull String lineKey) {
+    final var scoreboardModel = this.repository.findOrNull(player.getUniqueId());
+    if (scoreboardModel == null) {
+      return false;
+    }
+    this.repository.invalidate(scoreboardModel, lineKey);
+    this.requestFlush();
+    return true;
+  }
+
+  /**
+   * Invalidates the lines with the given key for every player.
+   *
+   * @param lineKey the key of the lines.
+   * @see ScoreboardManager#invalidate(Player, String)
+   * @since 0.0.1
+   */
+  public void invalidateAll(final @NotNull String lineKey) {
+    for (final var scoreboardModel : this.repository.scoreboards()) {
+      this.repository.invalidate(scoreboardModel, lineKey);
+    }
+    this.requestFlush();
+  }
+
+  private void requestFlush() {
+    final var executorModel = this.invalidationExecutorModel;
+    if (executorModel != null) {
+      executorModel.requestFlush();
+    }
+  }
+
   /**
    * Deletes the scoreboard assigned for this player.
    *
@@ -317,7 +389,7 @@ public final class ScoreboardManager {
    * @since 0.0.1
    */
   public boolean delete(final @NotNull Player player) {
-    final var scoreboardModel = this.repository.findOrNull(player.getUniqueId().toString());
+    final var scoreboardModel = this.repository.findOrNull(player.getUniqueId());
     // Check if the player have a scoreboard assigned
     // before deletion.
     if (scoreboardModel == null) {
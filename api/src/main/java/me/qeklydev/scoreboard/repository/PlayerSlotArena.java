@@ -0,0 +1,756 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.repository;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.type.ScoreboardToggleStateType;
+import net.kyori.adventure.text.Component;
+import net.megavex.scoreboardlibrary.api.sidebar.Sidebar;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class assigns a dense integer slot to each player with
+ * a scoreboard, and stores the per-board state in primitive arrays
+ * indexed by that slot.
+ * <p>
+ * Slots are assigned and released by the main thread, while the
+ * updater threads read the state without any lock. All the arrays
+ * are published together through a single volatile reference, so
+ * a reader never mixes arrays of different capacities.
+ * <p>
+ * The toggle-state of every slot is a bit in a shared atomic bitset,
+ * a set bit means an assigned slot with a {@link ScoreboardToggleStateType#VISIBLE}
+ * scoreboard. Toggling is a single compare-and-set without allocation,
+ * and the updater threads always read the latest state. This bitset is
+ * also the active set iterated by the updaters, so the hidden boards
+ * don't cost anything per frame.
+ *
+ * @since 0.0.1
+ */
+@ApiStatus.Internal
+public final class PlayerSlotArena {
+  /**
+   * The maximum amount of lines that a sidebar can display.
+   *
+   * @since 0.0.1
+   */
+  public static final int MAX_LINES = 15;
+  private static final int INITIAL_CAPACITY = 64;
+  private final Map<UUID, Integer> slots;
+  private final LongAdder suppressedWrites;
+  private final LongAdder performedWrites;
+  private final ModelsView modelsView;
+  private final VisibleModelsView visibleModelsView;
+  private volatile Storage storage;
+  private volatile int resizes;
+  private int[] freeSlots;
+  private int freeCount;
+  private int nextSlot;
+
+  public PlayerSlotArena() {
+    this.slots = new ConcurrentHashMap<>();
+    this.suppressedWrites = new LongAdder();
+    this.performedWrites = new LongAdder();
+    this.modelsView = new ModelsView();
+    this.visibleModelsView = new VisibleModelsView();
+    this.storage = Storage.ofCapacity(INITIAL_CAPACITY);
+    this.freeSlots = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Assigns a slot for the player and creates their scoreboard
+   * model with the given sidebar.
+   *
+   * @param player the player.
+   * @param sidebar the {@link Sidebar} for this scoreboard.
+   * @param shared whether the sidebar is shared with other players.
+   * @return The new {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public synchronized @NotNull CachedScoreboardModel allocate(final @NotNull Player player, final @NotNull Sidebar sidebar,
+                                                              final boolean shared) {
+    // Reuses the slot of a previous scoreboard for this player, if
+    // any, so we never leak slots on a duplicated registration.
+    final var previousSlot = this.slots.get(player.getUniqueId());
+    final var slot = (previousSlot != null) ? previousSlot : this.takeSlot();
+    final var current = this.prepare(slot);
+    final var scoreboardModel = new CachedScoreboardModel(player, sidebar, this, slot, shared);
+    current.models[slot] = scoreboardModel;
+    // The model is marked as visible after being stored, so it
+    // joins the active set only once it's available.
+    current.visible(slot, true);
+    this.slots.put(player.getUniqueId(), slot);
+    return scoreboardModel;
+  }
+
+  /**
+   * Reserves a slot for the player and creates their scoreboard
+   * model with the given sidebar. The model doesn't own the slot
+   * until it is {@link #assign(CachedScoreboardModel) assigned}, so
+   * meanwhile it is neither found nor updated.
+   *
+   * @param player the player.
+   * @param sidebar the {@link Sidebar} for this scoreboard.
+   * @param shared whether the sidebar is shared with other players.
+   * @return The new {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public synchronized @NotNull CachedScoreboardModel reserve(final @NotNull Player player, final @NotNull Sidebar sidebar,
+                                                             final boolean shared) {
+    final var slot = this.takeSlot();
+    this.prepare(slot);
+    return new CachedScoreboardModel(player, sidebar, this, slot, shared);
+  }
+
+  /**
+   * Assigns the reserved slot to the given scoreboard model, the
+   * slot of a previous scoreboard for this player is released.
+   *
+   * @param scoreboardModel the reserved {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public synchronized void assign(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var current = this.storage;
+    final var slot = scoreboardModel.slot();
+    final var playerId = scoreboardModel.player().getUniqueId();
+    final var previousSlot = this.slots.get(playerId);
+    if (previousSlot != null && previousSlot != slot) {
+      current.models[previousSlot] = null;
+      current.stamps.incrementAndGet(previousSlot);
+      current.reset(previousSlot);
+      this.freeSlot(previousSlot);
+    }
+    current.models[slot] = scoreboardModel;
+    // The model is marked as visible after being stored, so it
+    // joins the active set only once it's available.
+    current.visible(slot, true);
+    this.slots.put(playerId, slot);
+  }
+
+  /**
+   * Cancels the reservation of the given scoreboard model, making
+   * their slot available for another player.
+   *
+   * @param scoreboardModel the reserved {@link CachedScoreboardModel}.
+   * @return Whether the reservation was cancelled, {@code false} if
+   *     the model was already assigned.
+   * @since 0.0.1
+   */
+  public synchronized boolean cancel(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var slot = scoreboardModel.slot();
+    final var current = this.storage;
+    if (current.models[slot] == scoreboardModel) {
+      return false;
+    }
+    current.stamps.incrementAndGet(slot);
+    current.reset(slot);
+    this.freeSlot(slot);
+    return true;
+  }
+
+  /**
+   * Releases the slot of the given scoreboard model, making
+   * it available for another player.
+   *
+   * @param scoreboardModel the {@link CachedScoreboardModel}.
+   * @return Whether the model was owning their slot.
+   * @since 0.0.1
+   */
+  public synchronized boolean release(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var slot = scoreboardModel.slot();
+    final var current = this.storage;
+    // The slot was already reassigned to another model, or
+    // released before.
+    if (current.models[slot] != scoreboardModel) {
+      return false;
+    }
+    current.models[slot] = null;
+    current.stamps.incrementAndGet(slot);
+    current.reset(slot);
+    this.slots.remove(scoreboardModel.player().getUniqueId());
+    this.freeSlot(slot);
+    return true;
+  }
+
+  private int takeSlot() {
+    return (this.freeCount > 0) ? this.freeSlots[--this.freeCount] : this.nextSlot++;
+  }
+
+  private void freeSlot(final int slot) {
+    if (this.freeCount == this.freeSlots.length) {
+      this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeCount << 1);
+    }
+    this.freeSlots[this.freeCount++] = slot;
+  }
+
+  /**
+   * Grows the arrays if the given slot is out of their range,
+   * and resets the state of the slot for a new model.
+   *
+   * @param slot the slot.
+   * @return The current {@link Storage}.
+   * @since 0.0.1
+   */
+  private @NotNull Storage prepare(final int slot) {
+    var current = this.storage;
+    if (slot >= current.models.length) {
+      // The count is odd while the arrays are copied, so a concurrent
+      // lock-free write knows that the copy could miss it.
+      this.resizes++;
+      current = current.grow(current.models.length << 1);
+      this.storage = current;
+      this.resizes++;
+    }
+    // The stamp is changed before the reset, so a write of the
+    // previous owner that lands after it is detected and undone.
+    current.stamps.incrementAndGet(slot);
+    current.reset(slot);
+    return current;
+  }
+
+  /**
+   * Removes every assigned slot.
+   *
+   * @since 0.0.1
+   */
+  public synchronized void clear() {
+    this.slots.clear();
+    // We keep the current capacity, so models still referenced by
+    // another thread never read out of the arrays range.
+    final var previous = this.storage;
+    final var cleared = Storage.ofCapacity(previous.models.length);
+    // The stamps are kept changed, so the writes of the removed
+    // models are detected as well.
+    for (int slot = 0; slot < previous.models.length; slot++) {
+      cleared.stamps.set(slot, previous.stamps.get(slot) + 1);
+    }
+    this.storage = cleared;
+    this.freeSlots = new int[INITIAL_CAPACITY];
+    this.freeCount = 0;
+    this.nextSlot = 0;
+  }
+
+  /**
+   * Returns the scoreboard model for the player with
+   * the specified uuid.
+   *
+   * @param playerId the player uuid.
+   * @return The {@link CachedScoreboardModel}, or {@code null}
+   *     if the player has no slot assigned.
+   * @since 0.0.1
+   */
+  public @Nullable CachedScoreboardModel find(final @NotNull UUID playerId) {
+    final var slot = this.slots.get(playerId);
+    return (slot == null) ? null : this.storage.models[slot];
+  }
+
+  /**
+   * Returns a weakly consistent view of the scoreboard models,
+   * iterated in slot order.
+   *
+   * @return The {@link java.util.Collection} of {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public @NotNull AbstractCollection<@NotNull CachedScoreboardModel> models() {
+    return this.modelsView;
+  }
+
+  /**
+   * Returns a weakly consistent view of the scoreboard models
+   * with a {@link ScoreboardToggleStateType#VISIBLE} state, iterated
+   * in slot order.
+   *
+   * @return The {@link java.util.Collection} of visible {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public @NotNull AbstractCollection<@NotNull CachedScoreboardModel> visibleModels() {
+    return this.visibleModelsView;
+  }
+
+  /**
+   * Returns a weakly consistent view of the visible scoreboard models
+   * in the given slice, only the slots of that slice are walked, with
+   * a stride of the amount of slices.
+   *
+   * @param slice the slice, between zero and the amount of slices.
+   * @param slices the amount of slices.
+   * @return The {@link java.util.Collection} of visible {@link CachedScoreboardModel}
+   *     in the slice.
+   * @since 0.0.1
+   */
+  public @NotNull AbstractCollection<@NotNull CachedScoreboardModel> visibleModels(final int slice, final int slices) {
+    return (slices <= 1) ? this.visibleModelsView : new SlicedVisibleModelsView(slice % slices, slices);
+  }
+
+  /**
+   * Returns the toggle-state for the specified slot.
+   *
+   * @param slot the slot.
+   * @return The {@link ScoreboardToggleStateType}.
+   * @since 0.0.1
+   */
+  public @NotNull ScoreboardToggleStateType toggleState(final int slot) {
+    return ((this.storage.visibleBits.get(slot >>> 6) & (1L << slot)) != 0)
+        ? ScoreboardToggleStateType.VISIBLE : ScoreboardToggleStateType.CLOSED;
+  }
+
+  /**
+   * Sets the toggle-state for the specified slot.
+   *
+   * @param slot the slot.
+   * @param newToggleState the new {@link ScoreboardToggleStateType}.
+   * @since 0.0.1
+   */
+  public void toggleState(final int slot, final @NotNull ScoreboardToggleStateType newToggleState) {
+    final var visible = newToggleState == ScoreboardToggleStateType.VISIBLE;
+    Storage current;
+    do {
+      current = this.storage;
+      current.visible(slot, visible);
+      // If the arrays were grown meanwhile, the copy could miss this
+      // write, setting the state is idempotent so we just repeat it.
+    } while (current != this.storage);
+  }
+
+  /**
+   * Flips the toggle-state for the slot of the given model with
+   * a single atomic operation, only if the model owns their slot.
+   *
+   * @param scoreboardModel the model to toggle.
+   * @return The new {@link ScoreboardToggleStateType}, or {@code null}
+   *     if the model doesn't own their slot anymore.
+   * @since 0.0.1
+   */
+  public synchronized @Nullable ScoreboardToggleStateType toggle(final @NotNull CachedScoreboardModel scoreboardModel) {
+    // The ownership is checked under the lock used by 'release' and
+    // 'allocate', so a released model never toggles the player that
+    // reuses their slot. Toggling is rare, so the lock is not contended.
+    final var current = this.storage;
+    final var slot = scoreboardModel.slot();
+    if (current.models[slot] != scoreboardModel) {
+      return null;
+    }
+    return current.flip(slot) ? ScoreboardToggleStateType.VISIBLE : ScoreboardToggleStateType.CLOSED;
+  }
+
+  /**
+   * Returns the world bucket for the specified slot.
+   *
+   * @param slot the slot.
+   * @return The world name, or {@code null} if not assigned.
+   * @since 0.0.1
+   */
+  public @Nullable String world(final int slot) {
+    return this.storage.worlds[slot];
+  }
+
+  /**
+   * Sets the world bucket for the specified slot.
+   *
+   * @param slot the slot.
+   * @param worldName the world name.
+   * @since 0.0.1
+   */
+  public void world(final int slot, final @Nullable String worldName) {
+    // The write is done under the lock used by 'allocate', so a grow
+    // never copies the arrays before it and publishes them without it.
+    // World changes are rare, the updaters read it without any lock.
+    synchronized (this) {
+      this.storage.worlds[slot] = worldName;
+    }
+  }
+
+  /**
+   * Checks if the given component is different from the last
+   * component sent for that line, and if it is, records it as
+   * the new sent content for that line.
+   *
+   * @param scoreboardModel the model that sends the line.
+   * @param index the line number.
+   * @param lineComponent the component to send.
+   * @return Whether the line must be sent, {@code true} if the
+   *     content is different. Otherwise {@code false}, also if the
+   *     model doesn't own their slot anymore.
+   * @since 0.0.1
+   */
+  public boolean lineDirty(final @NotNull CachedScoreboardModel scoreboardModel, final int index, final @NotNull Component lineComponent) {
+    // Lines out of the sidebar range are not tracked, we let
+    // the sidebar handle them as before.
+    if (index < 0 || index >= MAX_LINES) {
+      return true;
+    }
+    final var slot = scoreboardModel.slot();
+    return this.dirty(scoreboardModel, slot, (slot * MAX_LINES) + index, lineComponent, false);
+  }
+
+  /**
+   * Checks if the given component is different from the last
+   * title sent, and if it is, records it as the new title.
+   *
+   * @param scoreboardModel the model that sends the title.
+   * @param titleComponent the title component to send.
+   * @return Whether the title must be sent, {@code true} if the
+   *     content is different. Otherwise {@code false}, also if the
+   *     model doesn't own their slot anymore.
+   * @since 0.0.1
+   */
+  public boolean titleDirty(final @NotNull CachedScoreboardModel scoreboardModel, final @NotNull Component titleComponent) {
+    final var slot = scoreboardModel.slot();
+    return this.dirty(scoreboardModel, slot, slot, titleComponent, true);
+  }
+
+  /**
+   * Returns the amount of line and title writes that have
+   * been suppressed since the content was unchanged.
+   *
+   * @return The suppressed writes count.
+   * @since 0.0.1
+   */
+  public long suppressedWrites() {
+    return this.suppressedWrites.sum();
+  }
+
+  /**
+   * Returns the amount of line and title writes that have
+   * reached the sidebars.
+   *
+   * @return The performed writes count.
+   * @since 0.0.1
+   */
+  public long performedWrites() {
+    return this.performedWrites.sum();
+  }
+
+  private boolean dirty(final @NotNull CachedScoreboardModel scoreboardModel, final int slot, final int position,
+                        final @NotNull Component component, final boolean title) {
+    var current = this.storage;
+    // The stamp is read before the ownership check, and read again
+    // after the write, so no lock is held during the comparison.
+    final var stamp = current.stamps.get(slot);
+    // A released model must never write into the state of the
+    // player that reuses their slot.
+    if (current.models[slot] != scoreboardModel) {
+      return false;
+    }
+    final var sent = current.sent(title);
+    final var previous = sent[position];
+    // Same instance is the common case for compiled content, so we
+    // avoid the hash computation for it.
+    if (previous == component) {
+      this.suppressedWrites.increment();
+      return false;
+    }
+    final var hash = component.hashCode();
+    // We compare the hashes before perform the equality check, as
+    // this one walks the whole component tree.
+    if (previous != null && current.hashes(title)[position] == hash && previous.equals(component)) {
+      this.suppressedWrites.increment();
+      return false;
+    }
+    current.store(title, position, component, hash);
+    while (true) {
+      // The arrays are being grown, the copy could have been taken
+      // before this write, so we wait until the new ones are published.
+      if ((this.resizes & 1) != 0) {
+        Thread.onSpinWait();
+        continue;
+      }
+      final var latest = this.storage;
+      // The slot was released or reassigned during the write, the
+      // content is cleared so the new owner never skips a line that
+      // it has not sent.
+      if (latest.stamps.get(slot) != stamp) {
+        latest.store(title, position, null, 0);
+        return false;
+      }
+      if (latest == current) {
+        break;
+      }
+      // The arrays were grown meanwhile, the copy could miss
+      // this write, so it is stored again in the new ones.
+      latest.store(title, position, component, hash);
+      current = latest;
+    }
+    this.performedWrites.increment();
+    return true;
+  }
+
+  /**
+   * The arrays with the state of every slot.
+   *
+   * @since 0.0.1
+   */
+  private record Storage(CachedScoreboardModel[] models, AtomicIntegerArray stamps, AtomicLongArray visibleBits,
+                         String[] worlds, int[] lineHashes, Component[] sentLines, int[] titleHashes, Component[] sentTitles) {
+    static @NotNull Storage ofCapacity(final int capacity) {
+      return new Storage(
+          new CachedScoreboardModel[capacity], new AtomicIntegerArray(capacity), new AtomicLongArray(bitsLength(capacity)),
+          new String[capacity], new int[capacity * MAX_LINES], new Component[capacity * MAX_LINES],
+          new int[capacity], new Component[capacity]);
+    }
+
+    static int bitsLength(final int capacity) {
+      return (capacity + 63) >>> 6;
+    }
+
+    @NotNull Storage grow(final int capacity) {
+      final var grownBits = new AtomicLongArray(bitsLength(capacity));
+      for (int word = 0; word < this.visibleBits.length(); word++) {
+        grownBits.set(word, this.visibleBits.get(word));
+      }
+      final var grownStamps = new AtomicIntegerArray(capacity);
+      for (int slot = 0; slot < this.stamps.length(); slot++) {
+        grownStamps.set(slot, this.stamps.get(slot));
+      }
+      return new Storage(
+          Arrays.copyOf(this.models, capacity), grownStamps, grownBits, Arrays.copyOf(this.worlds, capacity),
+          Arrays.copyOf(this.lineHashes, capacity * MAX_LINES), Arrays.copyOf(this.sentLines, capacity * MAX_LINES),
+          Arrays.copyOf(this.titleHashes, capacity), Arrays.copyOf(this.sentTitles, capacity));
+    }
+
+    void visible(final int slot, final boolean visible) {
+      final var word = slot >>> 6;
+      final var mask = 1L << slot;
+      long previous;
+      do {
+        previous = this.visibleBits.get(word);
+      } while (!this.visibleBits.compareAndSet(word, previous, visible ? (previous | mask) : (previous & ~mask)));
+    }
+
+    boolean flip(final int slot) {
+      final var word = slot >>> 6;
+      final var mask = 1L << slot;
+      long previous;
+      do {
+        previous = this.visibleBits.get(word);
+      } while (!this.visibleBits.compareAndSet(word, previous, previous ^ mask));
+      return (previous & mask) == 0;
+    }
+
+    Component @NotNull [] sent(final boolean title) {
+      return title ? this.sentTitles : this.sentLines;
+    }
+
+    int @NotNull [] hashes(final boolean title) {
+      return title ? this.titleHashes : this.lineHashes;
+    }
+
+    void store(final boolean title, final int position, final @Nullable Component component, final int hash) {
+      this.sent(title)[position] = component;
+      this.hashes(title)[position] = hash;
+    }
+
+    void reset(final int slot) {
+      this.visible(slot, false);
+      this.worlds[slot] = null;
+      Arrays.fill(this.lineHashes, slot * MAX_LINES, (slot + 1) * MAX_LINES, 0);
+      Arrays.fill(this.sentLines, slot * MAX_LINES, (slot + 1) * MAX_LINES, null);
+      this.titleHashes[slot] = 0;
+      this.sentTitles[slot] = null;
+    }
+  }
+
+  /**
+   * A weakly consistent collection view over the assigned
+   * slots, the empty slots are skipped.
+   *
+   * @since 0.0.1
+   */
+  private final class ModelsView extends AbstractCollection<CachedScoreboardModel> {
+    @Override
+    public @NotNull Iterator<CachedScoreboardModel> iterator() {
+      final var models = PlayerSlotArena.this.storage.models;
+      return new Iterator<>() {
+        private int cursor;
+        private CachedScoreboardModel nextModel = this.findNext();
+
+        @Override
+        public boolean hasNext() {
+          return this.nextModel != null;
+        }
+
+        @Override
+        public CachedScoreboardModel next() {
+          final var model = this.nextModel;
+          if (model == null) {
+            throw new NoSuchElementException();
+          }
+          this.nextModel = this.findNext();
+          return model;
+        }
+
+        private @Nullable CachedScoreboardModel findNext() {
+          while (this.cursor < models.length) {
+            final var model = models[this.cursor++];
+            if (model != null) {
+              return model;
+            }
+          }
+          return null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return PlayerSlotArena.this.slots.size();
+    }
+  }
+
+  /**
+   * A weakly consistent collection view over the visible
+   * slots, it only walks the set bits of the visible bitset.
+   *
+   * @since 0.0.1
+   */
+  private final class VisibleModelsView extends AbstractCollection<CachedScoreboardModel> {
+    @Override
+    public @NotNull Iterator<CachedScoreboardModel> iterator() {
+      final var current = PlayerSlotArena.this.storage;
+      final var models = current.models;
+      final var visibleBits = current.visibleBits;
+      return new Iterator<>() {
+        private int word = -1;
+        private long bits;
+        private CachedScoreboardModel nextModel = this.findNext();
+
+        @Override
+        public boolean hasNext() {
+          return this.nextModel != null;
+        }
+
+        @Override
+        public CachedScoreboardModel next() {
+          final var model = this.nextModel;
+          if (model == null) {
+            throw new NoSuchElementException();
+          }
+          this.nextModel = this.findNext();
+          return model;
+        }
+
+        private @Nullable CachedScoreboardModel findNext() {
+          while (true) {
+            while (this.bits == 0) {
+              if (++this.word >= visibleBits.length()) {
+                return null;
+              }
+              this.bits = visibleBits.get(this.word);
+            }
+            final var slot = (this.word << 6) + Long.numberOfTrailingZeros(this.bits);
+            // Clears the lowest set bit, which is the current slot.
+            this.bits &= this.bits - 1;
+            final var model = models[slot];
+            if (model != null) {
+              return model;
+            }
+          }
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      final var visibleBits = PlayerSlotArena.this.storage.visibleBits;
+      var count = 0;
+      for (int word = 0; word < visibleBits.length(); word++) {
+        count += Long.bitCount(visibleBits.get(word));
+      }
+      return count;
+    }
+  }
+
+  /**
+   * A weakly consistent collection view over the visible slots
+   * of a slice, it only tests the slots of that slice.
+   *
+   * @since 0.0.1
+   */
+  private final class SlicedVisibleModelsView extends AbstractCollection<CachedScoreboardModel> {
+    private final int slice;
+    private final int slices;
+
+    SlicedVisibleModelsView(final int slice, final int slices) {
+      this.slice = slice;
+      this.slices = slices;
+    }
+
+    @Override
+    public @NotNull Iterator<CachedScoreboardModel> iterator() {
+      final var current = PlayerSlotArena.this.storage;
+      final var models = current.models;
+      final var visibleBits = current.visibleBits;
+      return new Iterator<>() {
+        private int slot = SlicedVisibleModelsView.this.slice;
+        private CachedScoreboardModel nextModel = this.findNext();
+
+        @Override
+        public boolean hasNext() {
+          return this.nextModel != null;
+        }
+
+        @Override
+        public CachedScoreboardModel next() {
+          final var model = this.nextModel;
+          if (model == null) {
+            throw new NoSuchElementException();
+          }
+          this.nextModel = this.findNext();
+          return model;
+        }
+
+        private @Nullable CachedScoreboardModel findNext() {
+          while (this.slot < models.length) {
+            final var slot = this.slot;
+            this.slot += SlicedVisibleModelsView.this.slices;
+            if ((visibleBits.get(slot >>> 6) & (1L << slot)) == 0) {
+              continue;
+            }
+            final var model = models[slot];
+            if (model != null) {
+              return model;
+            }
+          }
+          return null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      var count = 0;
+      for (final var iterator = this.iterator(); iterator.hasNext(); iterator.next()) {
+        count++;
+      }
+      return count;
+    }
+  }
+}
@@ -18,8 +18,14 @@
 package me.qeklydev.scoreboard.repository;
 
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
 import me.qeklydev.scoreboard.type.ScoreboardToggleStateType;
 import net.megavex.scoreboardlibrary.api.sidebar.Sidebar;
@@ -30,27 +36,54 @@ import org.jetbrains.annotations.Nullable;
 /**
  * This class is used to have a handling about the
  * current cached scoreboard models that are used.
+ * <p>
+ * The main thread mutates this repository during join, quit
+ * and toggle, while the updater threads iterate it. The provided
+ * collections are weakly consistent views, they never throw a
+ * {@link java.util.ConcurrentModificationException} and don't
+ * require any lock for iteration.
  *
  * @since 0.0.1
  */
 public final class ScoreboardModelRepository {
-  private final Map<String, CachedScoreboardModel> scoreboards;
+  private final PlayerSlotArena arena;
+  private final Map<String, Set<CachedScoreboardModel>> worldBuckets;
+  private final Queue<CachedScoreboardModel> invalidatedScoreboards;
+  private final Set<String> sharedInvalidatedKeys;
+  private volatile Sidebar sharedSidebar;
 
   public ScoreboardModelRepository() {
-    this.scoreboards = new HashMap<>();
+    this.arena = new PlayerSlotArena();
+    this.worldBuckets = new ConcurrentHashMap<>();
+    this.invalidatedScoreboards = new ConcurrentLinkedQueue<>();
+    this.sharedInvalidatedKeys = ConcurrentHashMap.newKeySet();
   }
 
   /**
    * Tries to return the scoreboard model based on the
    * player uuid provided.
    *
-   * @param id the player id.
+   * @param id the player uuid.
    * @return The {@link CachedScoreboardModel}, or {@code null} if
    *     model isn't in cache.
    * @since 0.0.1
    */
+  public @Nullable CachedScoreboardModel findOrNull(final @NotNull UUID id) {
+    return this.arena.find(id);
+  }
+
+  /**
+   * Tries to return the scoreboard model based on the
+   * player uuid provided.
+   *
+   * @param id the player uuid as string.
+   * @return The {@link CachedScoreboardModel}, or {@code null} if
+   *     model isn't in cache.
+   * @see ScoreboardModelRepository#findOrNull(UUID)
+   * @since 0.0.1
+   */
   public @Nullable CachedScoreboardModel findOrNull(final @NotNull String id) {
-    return this.scoreboards.get(id);
+    return this.arena.find(UUID.fromString(id));
   }
 
   /**
@@ -61,26 +94,190 @@ public final class ScoreboardModelRepository {
    * @since 0.0.1
    */
   public @NotNull Collection<@NotNull CachedScoreboardModel> scoreboards() {
-    return this.scoreboards.values();
+    return this.arena.models();
+  }
+
+  /**
+   * Returns the collection with the scoreboard models that are
+   * currently visible, the models with a {@link ScoreboardToggleStateType#CLOSED}
+   * state are not iterated at all.
+   *
+   * @return The {@link Collection} of visible {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public @NotNull Collection<@NotNull CachedScoreboardModel> visibleScoreboards() {
+    return this.arena.visibleModels();
+  }
+
+  /**
+   * Returns the collection with the visible scoreboard models of
+   * the given slice, the models of the other slices are not iterated.
+   *
+   * @param slice the slice.
+   * @param slices the amount of slices.
+   * @return The {@link Collection} of visible {@link CachedScoreboardModel}
+   *     in the slice.
+   * @since 0.0.1
+   */
+  public @NotNull Collection<@NotNull CachedScoreboardModel> visibleScoreboards(final int slice, final int slices) {
+    return this.arena.visibleModels(slice, slices);
+  }
+
+  /**
+   * Returns the sidebar shared by every player, only available
+   * on 'SINGLE' mode with the shared sidebar option enabled.
+   *
+   * @return The shared {@link Sidebar}, or {@code null} if
+   *     every player has their own sidebar.
+   * @since 0.0.1
+   */
+  public @Nullable Sidebar sharedSidebar() {
+    return this.sharedSidebar;
+  }
+
+  /**
+   * Sets the sidebar shared by every player.
+   *
+   * @param sharedSidebar the shared {@link Sidebar}, or {@code null}
+   *                      to use a sidebar per player.
+   * @since 0.0.1
+   */
+  public void sharedSidebar(final @Nullable Sidebar sharedSidebar) {
+    this.sharedSidebar = sharedSidebar;
+  }
+
+  /**
+   * Returns the slot arena that holds the per-board state.
+   *
+   * @return The {@link PlayerSlotArena}.
+   * @since 0.0.1
+   */
+  public @NotNull PlayerSlotArena arena() {
+    return this.arena;
+  }
+
+  /**
+   * Returns the collection with the scoreboard models of the
+   * players that are currently in the specified world.
+   *
+   * @param worldName the world name.
+   * @return The {@link Collection} of {@link CachedScoreboardModel}
+   *     for that world, or an empty collection if there are none.
+   * @since 0.0.1
+   */
+  public @NotNull Collection<@NotNull CachedScoreboardModel> worldScoreboards(final @NotNull String worldName) {
+    final var bucket = this.worldBuckets.get(worldName);
+    return (bucket == null) ? Collections.emptySet() : bucket;
+  }
+
+  /**
+   * Creates the bucket for the specified world if it
+   * doesn't exist yet.
+   *
+   * @param worldName the loaded world name.
+   * @since 0.0.1
+   */
+  public void loadWorld(final @NotNull String worldName) {
+    this.worldBuckets.computeIfAbsent(worldName, name -> ConcurrentHashMap.newKeySet());
+  }
+
+  /**
+   * Removes the bucket for the specified world.
+   *
+   * @param worldName the unloaded world name.
+   * @since 0.0.1
+   */
+  public void unloadWorld(final @NotNull String worldName) {
+    this.worldBuckets.remove(worldName);
   }
 
   /**
-   * Stores the player id and their Sidebar controller provided,
-   * and store it in the repository cache.
+   * Moves the scoreboard model of the player from the bucket of
+   * the previous world to the bucket of their current world.
    *
    * @param player the player.
-   * @param sidebar the {@link CachedScoreboardModel} controller for this
+   * @since 0.0.1
+   */
+  public void changeWorld(final @NotNull Player player) {
+    final var scoreboardModel = this.arena.find(player.getUniqueId());
+    // The player has not a scoreboard, so there's nothing
+    // to move.
+    if (scoreboardModel == null) {
+      return;
+    }
+    this.removeFromBucket(scoreboardModel);
+    this.addToBucket(scoreboardModel);
+  }
+
+  /**
+   * Assigns a slot for the player with the Sidebar controller
+   * provided, and store it in the repository cache.
+   *
+   * @param player the player.
+   * @param sidebar the {@link Sidebar} controller for this
+   *                scoreboard.
+   * @return The registered {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public @NotNull CachedScoreboardModel register(final @NotNull Player player, final @NotNull Sidebar sidebar) {
+    final var previousModel = this.arena.find(player.getUniqueId());
+    // A previous model for this player would be replaced in
+    // their slot, so it must leave their world bucket.
+    if (previousModel != null) {
+      this.removeFromBucket(previousModel);
+    }
+    final var scoreboardModel = this.arena.allocate(player, sidebar, sidebar == this.sharedSidebar);
+    this.addToBucket(scoreboardModel);
+    return scoreboardModel;
+  }
+
+  /**
+   * Reserves a slot for the player with the Sidebar controller
+   * provided, the model is not stored in the repository cache
+   * until it is {@link #register(CachedScoreboardModel) registered}.
+   *
+   * @param player the player.
+   * @param sidebar the {@link Sidebar} controller for this
    *                scoreboard.
+   * @return The reserved {@link CachedScoreboardModel}.
    * @since 0.0.1
    */
-  public void register(final @NotNull Player player, final @NotNull Sidebar sidebar) {
-    final var scoreboardModel = new CachedScoreboardModel(player, sidebar, ScoreboardToggleStateType.VISIBLE);
-    this.scoreboards.put(player.getUniqueId().toString(), scoreboardModel);
+  public @NotNull CachedScoreboardModel reserve(final @NotNull Player player, final @NotNull Sidebar sidebar) {
+    return this.arena.reserve(player, sidebar, sidebar == this.sharedSidebar);
+  }
+
+  /**
+   * Stores the reserved scoreboard model in the repository cache.
+   *
+   * @param scoreboardModel the reserved {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public void register(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var previousModel = this.arena.find(scoreboardModel.player().getUniqueId());
+    // A previous model for this player is replaced, so it must
+    // leave their world bucket.
+    if (previousModel != null) {
+      this.removeFromBucket(previousModel);
+    }
+    this.arena.assign(scoreboardModel);
+    this.addToBucket(scoreboardModel);
+  }
+
+  /**
+   * Cancels the reservation of the given scoreboard model,
+   * such as when their creation was cancelled.
+   *
+   * @param scoreboardModel the reserved {@link CachedScoreboardModel}.
+   * @since 0.0.1
+   */
+  public void cancel(final @NotNull CachedScoreboardModel scoreboardModel) {
+    this.arena.cancel(scoreboardModel);
   }
 
   /**
    * Updates the current toggle-state for the cached scoreboard model
    * based on the provided identifier, only if model is present in cache.
+   * This is a single atomic write on the slot state.
    *
    * @param player the player.
    * @param newToggleState the new {@link ScoreboardToggleStateType} for
@@ -88,14 +285,16 @@ public final class ScoreboardModelRepository {
    * @since 0.0.1
    */
   public void update(final @NotNull Player player, final @NotNull ScoreboardToggleStateType newToggleState) {
-    final var playerId = player.getUniqueId().toString();
-    this.scoreboards.computeIfPresent(playerId, (id, scoreboardModel) ->
-        new CachedScoreboardModel(player, scoreboardModel.internal(), newToggleState));
+    final var scoreboardModel = this.arena.find(player.getUniqueId());
+    if (scoreboardModel == null) {
+      return;
+    }
+    this.arena.toggleState(scoreboardModel.slot(), newToggleState);
   }
 
   /**
-   * Removes the scoreboard model for this player based
-   * on the uuid provided.
+   * Removes the scoreboard model for this player and
+   * releases their slot.
    *
    * @param scoreboardModel the {@link CachedScoreboardModel}
    *                        to delete.
@@ -106,22 +305,103 @@ public final class ScoreboardModelRepository {
    * @since 0.0.1
    */
   public boolean unregister(final @NotNull CachedScoreboardModel scoreboardModel) {
-    final var playerId = scoreboardModel.player().getUniqueId().toString();
-    // The non-null check for the given scoreboard-model already
-    // was effected before, this method only will be invoked if the
-    // scoreboard-model for this player exists..
-    this.scoreboards.remove(playerId);
+    // The bucket is taken from the arena before the slot is
+    // released, as releasing resets the slot state.
+    this.removeFromBucket(scoreboardModel);
+    this.arena.release(scoreboardModel);
     // Returns the boolean state for the remove(...) method
     // execution from the scoreboard-model.
     return scoreboardModel.remove();
   }
 
+  /**
+   * Marks the lines with the given key as invalidated for the
+   * scoreboard, the lines of a shared sidebar are invalidated
+   * for every viewer.
+   *
+   * @param scoreboardModel the scoreboard model.
+   * @param lineKey the key of the lines.
+   * @since 0.0.1
+   */
+  public void invalidate(final @NotNull CachedScoreboardModel scoreboardModel, final @NotNull String lineKey) {
+    if (scoreboardModel.shared()) {
+      this.sharedInvalidatedKeys.add(lineKey);
+      return;
+    }
+    // The model is only queued once until their keys are drained.
+    if (scoreboardModel.invalidate(lineKey)) {
+      this.invalidatedScoreboards.add(scoreboardModel);
+    }
+  }
+
+  /**
+   * Retrieves and removes the next scoreboard with invalidated
+   * lines.
+   *
+   * @return The {@link CachedScoreboardModel}, or {@code null} if
+   *     there's none.
+   * @since 0.0.1
+   */
+  public @Nullable CachedScoreboardModel pollInvalidated() {
+    return this.invalidatedScoreboards.poll();
+  }
+
+  /**
+   * Drains the invalidated keys for the shared sidebar.
+   *
+   * @return The invalidated keys.
+   * @since 0.0.1
+   */
+  public @NotNull Set<@NotNull String> drainSharedInvalidatedKeys() {
+    final var drainedKeys = new HashSet<String>(this.sharedInvalidatedKeys.size());
+    final var iterator = this.sharedInvalidatedKeys.iterator();
+    while (iterator.hasNext()) {
+      drainedKeys.add(iterator.next());
+      iterator.remove();
+    }
+    return drainedKeys;
+  }
+
   /**
    * Removes all models from the repository cache.
    *
    * @since 0.0.1
    */
   public void clear() {
-    this.scoreboards.clear();
+    this.arena.clear();
+    this.worldBuckets.clear();
+    this.invalidatedScoreboards.clear();
+    this.sharedInvalidatedKeys.clear();
+    this.sharedSidebar = null;
+  }
+
+  /**
+   * Adds the model to the bucket of the current world of
+   * their player, and records that world in their slot.
+   *
+   * @param scoreboardModel the scoreboard model.
+   * @since 0.0.1
+   */
+  private void addToBucket(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var worldName = scoreboardModel.player().getWorld().getName();
+    this.arena.world(scoreboardModel.slot(), worldName);
+    this.worldBuckets.computeIfAbsent(worldName, name -> ConcurrentHashMap.newKeySet()).add(scoreboardModel);
+  }
+
+  /**
+   * Removes the model from the bucket recorded in their slot.
+   *
+   * @param scoreboardModel the scoreboard model.
+   * @since 0.0.1
+   */
+  private void removeFromBucket(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var worldName = this.arena.world(scoreboardModel.slot());
+    if (worldName == null) {
+      return;
+    }
+    final var bucket = this.worldBuckets.get(worldName);
+    if (bucket != null) {
+      bucket.remove(scoreboardModel);
+    }
   }
 }
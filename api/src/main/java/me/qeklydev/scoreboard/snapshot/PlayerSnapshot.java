@@ -0,0 +1,110 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.snapshot;
+
+import java.util.Locale;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is an immutable copy of the player fields that
+ * are referenced by the content, and the player locale, it is
+ * captured on the thread that owns the player, and read by the
+ * async renderers.
+ *
+ * @since 0.0.1
+ */
+public final class PlayerSnapshot {
+  private final int fields;
+  private final String[] values;
+  private final Locale locale;
+
+  private PlayerSnapshot(final int fields, final @Nullable String @NotNull [] values, final @NotNull Locale locale) {
+    this.fields = fields;
+    this.values = values;
+    this.locale = locale;
+  }
+
+  /**
+   * Captures the given fields of the player, it must be called
+   * from the thread that owns the player.
+   *
+   * @param player the player.
+   * @param fields the mask of the fields to capture.
+   * @return The {@link PlayerSnapshot}.
+   * @since 0.0.1
+   */
+  public static @NotNull PlayerSnapshot capture(final @NotNull Player player, final int fields) {
+    return capture(player, fields, player.locale());
+  }
+
+  /**
+   * Captures the given fields of the player, with the given
+   * locale, such as the new one during a locale change. It must
+   * be called from the thread that owns the player.
+   *
+   * @param player the player.
+   * @param fields the mask of the fields to capture.
+   * @param locale the locale of the player.
+   * @return The {@link PlayerSnapshot}.
+   * @since 0.0.1
+   */
+  public static @NotNull PlayerSnapshot capture(final @NotNull Player player, final int fields, final @NotNull Locale locale) {
+    final var availableFields = SnapshotField.fields();
+    final var values = new String[availableFields.length];
+    for (final var field : availableFields) {
+      if ((fields & field.mask()) != 0) {
+        values[field.ordinal()] = field.read(player);
+      }
+    }
+    return new PlayerSnapshot(fields, values, locale);
+  }
+
+  /**
+   * Returns the mask of the captured fields.
+   *
+   * @return The fields mask.
+   * @since 0.0.1
+   */
+  public int fields() {
+    return this.fields;
+  }
+
+  /**
+   * Returns the captured value for the given field.
+   *
+   * @param field the field.
+   * @return The captured value, or {@code null} if the field
+   *     was not captured.
+   * @since 0.0.1
+   */
+  public @Nullable String value(final @NotNull SnapshotField field) {
+    return this.values[field.ordinal()];
+  }
+
+  /**
+   * Returns the captured locale of the player.
+   *
+   * @return The player {@link Locale}.
+   * @since 0.0.1
+   */
+  public @NotNull Locale locale() {
+    return this.locale;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.snapshot;
+
+import java.util.Locale;
+import java.util.function.Function;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This enum represents the player fields that can be captured
+ * in a {@link PlayerSnapshot}, and referenced by the content with
+ * the '&lt;snapshot:field&gt;' tag.
+ *
+ * @since 0.0.1
+ */
+public enum SnapshotField {
+  NAME("name", Player::getName),
+  WORLD("world", player -> player.getWorld().getName()),
+  HEALTH("health", player -> Integer.toString((int) Math.ceil(player.getHealth()))),
+  FOOD("food", player -> Integer.toString(player.getFoodLevel())),
+  LEVEL("level", player -> Integer.toString(player.getLevel())),
+  PING("ping", player -> Integer.toString(player.getPing())),
+  X("x", player -> Integer.toString(player.getLocation().getBlockX())),
+  Y("y", player -> Integer.toString(player.getLocation().getBlockY())),
+  Z("z", player -> Integer.toString(player.getLocation().getBlockZ())),
+  GAME_MODE("gamemode", player -> player.getGameMode().name().toLowerCase(Locale.ROOT));
+
+  private static final SnapshotField[] VALUES = values();
+  private final String key;
+  private final Function<Player, String> reader;
+
+  SnapshotField(final @NotNull String key, final @NotNull Function<@NotNull Player, @NotNull String> reader) {
+    this.key = key;
+    this.reader = reader;
+  }
+
+  /**
+   * Returns the field that uses the given key.
+   *
+   * @param key the field key.
+   * @return The {@link SnapshotField}, or {@code null} if there's
+   *     no field with that key.
+   * @since 0.0.1
+   */
+  public static @Nullable SnapshotField byKey(final @NotNull String key) {
+    for (final var field : VALUES) {
+      if (field.key.equals(key)) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns every available field.
+   *
+   * @return The available fields, the array must not be modified.
+   * @since 0.0.1
+   */
+  static SnapshotField @NotNull [] fields() {
+    return VALUES;
+  }
+
+  /**
+   * Returns the key used to reference this field.
+   *
+   * @return The field key.
+   * @since 0.0.1
+   */
+  public @NotNull String key() {
+    return this.key;
+  }
+
+  /**
+   * Returns the tag used to reference this field in the content.
+   *
+   * @return The field tag.
+   * @since 0.0.1
+   */
+  public @NotNull String tag() {
+    return "<snapshot:" + this.key + '>';
+  }
+
+  /**
+   * Returns the bit of this field for the fields masks.
+   *
+   * @return The field bit.
+   * @since 0.0.1
+   */
+  public int mask() {
+    return 1 << this.ordinal();
+  }
+
+  /**
+   * Reads this field from the player, it must be called
+   * from the thread that owns the player.
+   *
+   * @param player the player.
+   * @return The field value.
+   * @since 0.0.1
+   */
+  @NotNull String read(final @NotNull Player player) {
+    return this.reader.apply(player);
+  }
+}
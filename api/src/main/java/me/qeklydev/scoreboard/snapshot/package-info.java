@@ -0,0 +1,7 @@
+/**
+ * Provides the snapshots of the player state, captured
+ * on the main thread and used by the async renderers.
+ *
+ * @since 0.0.1
+ */
+package me.qeklydev.scoreboard.snapshot;
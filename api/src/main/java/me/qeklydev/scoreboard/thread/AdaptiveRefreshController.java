@@ -0,0 +1,205 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread;
+
+import java.util.List;
+import me.qeklydev.scoreboard.config.Configuration;
+import me.qeklydev.scoreboard.config.ConfigurationProvider;
+import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This executor model samples the server tick duration (MSPT),
+ * and backs off the period of the controlled models when the
+ * configured thresholds are crossed.
+ * <p>
+ * The backoff is applied immediately, while the recovery happens
+ * one level at a time, and only after the MSPT has stayed below
+ * the threshold minus the hysteresis for several samples.
+ *
+ * @since 0.0.1
+ */
+public final class AdaptiveRefreshController extends CustomExecutorThreadModel {
+  /**
+   * The level used while the server is not under load.
+   *
+   * @since 0.0.1
+   */
+  public static final byte NORMAL_LEVEL = 0;
+  /**
+   * The level used when the MSPT crosses the backoff threshold.
+   *
+   * @since 0.0.1
+   */
+  public static final byte BACKOFF_LEVEL = 1;
+  /**
+   * The level used when the MSPT crosses the critical threshold.
+   *
+   * @since 0.0.1
+   */
+  public static final byte CRITICAL_LEVEL = 2;
+  private final ConfigurationProvider<Configuration> configProvider;
+  private final List<CustomExecutorThreadModel> controlledModels;
+  private volatile byte level;
+  private volatile double lastMspt;
+  private volatile long backoffs;
+  private volatile long recoveries;
+  private volatile long lastDecisionMillis;
+  private int recoverySamples;
+
+  public AdaptiveRefreshController(final @NotNull ScoreboardModelRepository scoreboardRepository,
+                                   final @NotNull ConfigurationProvider<@NotNull Configuration> configProvider,
+                                   final @NotNull List<@NotNull CustomExecutorThreadModel> controlledModels) {
+    super(scoreboardRepository);
+    this.configProvider = configProvider;
+    this.controlledModels = List.copyOf(controlledModels);
+  }
+
+  @Override
+  public void run() {
+    final var section = this.configProvider.get().adaptiveRefresh;
+    // The controller was disabled, so every model goes back
+    // to the configured period.
+    if (!section.enabled) {
+      this.recoverySamples = 0;
+      if (this.level != NORMAL_LEVEL) {
+        this.changeLevel(NORMAL_LEVEL, section);
+      }
+      return;
+    }
+    final double mspt;
+    try {
+      mspt = Bukkit.getServer().getAverageTickTime();
+    } catch (final UnsupportedOperationException exception) {
+      // Regionised servers don't have a global tick duration.
+      return;
+    }
+    this.lastMspt = mspt;
+    final byte targetLevel;
+    if (mspt >= section.criticalMspt) {
+      targetLevel = CRITICAL_LEVEL;
+    } else if (mspt >= section.backoffMspt) {
+      targetLevel = BACKOFF_LEVEL;
+    } else {
+      targetLevel = NORMAL_LEVEL;
+    }
+    final var currentLevel = this.level;
+    // The backoff is never delayed, the server is already lagging.
+    if (targetLevel > currentLevel) {
+      this.recoverySamples = 0;
+      this.backoffs++;
+      this.changeLevel(targetLevel, section);
+      return;
+    }
+    // The MSPT must stay below the threshold of the current level
+    // minus the hysteresis, so the level doesn't flap around it.
+    final var recoveryThreshold = ((currentLevel == CRITICAL_LEVEL) ? section.criticalMspt : section.backoffMspt) - section.hysteresisMspt;
+    if (currentLevel == NORMAL_LEVEL || mspt >= recoveryThreshold) {
+      this.recoverySamples = 0;
+      return;
+    }
+    if (++this.recoverySamples < section.recoverySamples) {
+      return;
+    }
+    this.recoverySamples = 0;
+    this.recoveries++;
+    this.changeLevel((byte) (currentLevel - 1), section);
+  }
+
+  private void changeLevel(final byte newLevel, final @NotNull Configuration.AdaptiveRefreshSection section) {
+    this.level = newLevel;
+    this.lastDecisionMillis = System.currentTimeMillis();
+    final var multiplier = multiplierFor(newLevel, section);
+    for (final var executorModel : this.controlledModels) {
+      executorModel.periodMultiplier(multiplier);
+    }
+  }
+
+  private static int multiplierFor(final byte level, final @NotNull Configuration.AdaptiveRefreshSection section) {
+    return switch (level) {
+      case BACKOFF_LEVEL -> Math.max(1, section.backoffMultiplier);
+      case CRITICAL_LEVEL -> Math.max(1, section.criticalMultiplier);
+      default -> 1;
+    };
+  }
+
+  /**
+   * Returns the current backoff level.
+   *
+   * @return The current level, one of {@link #NORMAL_LEVEL},
+   *     {@link #BACKOFF_LEVEL} or {@link #CRITICAL_LEVEL}.
+   * @since 0.0.1
+   */
+  public byte level() {
+    return this.level;
+  }
+
+  /**
+   * Returns the period multiplier applied for the current level.
+   *
+   * @return The current period multiplier.
+   * @since 0.0.1
+   */
+  public int multiplier() {
+    return multiplierFor(this.level, this.configProvider.get().adaptiveRefresh);
+  }
+
+  /**
+   * Returns the last sampled MSPT.
+   *
+   * @return The last sampled MSPT.
+   * @since 0.0.1
+   */
+  public double lastMspt() {
+    return this.lastMspt;
+  }
+
+  /**
+   * Returns the amount of times that the controller has
+   * backed off the refresh rates.
+   *
+   * @return The amount of backoffs.
+   * @since 0.0.1
+   */
+  public long backoffs() {
+    return this.backoffs;
+  }
+
+  /**
+   * Returns the amount of times that the controller has
+   * recovered a level of the refresh rates.
+   *
+   * @return The amount of recoveries.
+   * @since 0.0.1
+   */
+  public long recoveries() {
+    return this.recoveries;
+  }
+
+  /**
+   * Returns the time of the last level change, in epoch
+   * milliseconds, or zero if the level never has changed.
+   *
+   * @return The time of the last decision.
+   * @since 0.0.1
+   */
+  public long lastDecisionMillis() {
+    return this.lastDecisionMillis;
+  }
+}
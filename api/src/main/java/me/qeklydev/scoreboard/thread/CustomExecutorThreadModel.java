@@ -17,62 +17,495 @@
  */
 package me.qeklydev.scoreboard.thread;
 
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
 import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
 import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Thread Handling Class Model for implementations
  * that make periodically modifications to the scoreboards
  * content.
+ * <p>
+ * Implementations don't own any thread, they are multiplexed
+ * by a shared {@link ScoreboardTimingWheel}, and a same model is
+ * never executed concurrently with itself, a frame that is due
+ * while the previous one is still running is skipped instead of
+ * queued, and every execution is measured to detect overruns.
+ * <p>
+ * A model can split its period into 'K' slices, it is then
+ * executed every period/K, and each execution should only process
+ * the scoreboards of the current slice, so every scoreboard keeps
+ * the configured period while the work is spread evenly.
  *
  * @since 0.0.1
  */
 public abstract class CustomExecutorThreadModel implements Runnable {
+  private static final ComponentLogger LOGGER = ComponentLogger.logger(CustomExecutorThreadModel.class);
+  private static final int IDLE = 0;
+  private static final int EXECUTING = 1;
+  private static final int FLUSHING = 2;
   protected final ScoreboardModelRepository scoreboardRepository;
-  private final ScheduledExecutorService executorService;
-  private byte periodRate;
-  private boolean running;
+  private final AtomicInteger executionState;
+  private final AtomicBoolean flushRequested;
+  private final AtomicBoolean framePending;
+  private final LongAdder skippedFrames;
+  private volatile long periodMillis;
+  private volatile int slices;
+  private volatile int periodMultiplier;
+  private int currentSlice;
+  private volatile boolean running;
+  private volatile ScoreboardTimingWheel timingWheel;
+  private volatile ScoreboardTimingWheel.Task scheduledTask;
+  private volatile Thread executingThread;
+  private volatile long executions;
+  private volatile long overruns;
+  private volatile long lastRunNanos;
+  private volatile long maxRunNanos;
+  private volatile long totalOverrunNanos;
 
-  public CustomExecutorThreadModel(final @NotNull ScheduledExecutorService executorService,
-                                   final @NotNull ScoreboardModelRepository scoreboardRepository) {
-    this.executorService = executorService;
+  public CustomExecutorThreadModel(final @NotNull ScoreboardModelRepository scoreboardRepository) {
     this.scoreboardRepository = scoreboardRepository;
+    this.executionState = new AtomicInteger(IDLE);
+    this.flushRequested = new AtomicBoolean();
+    this.framePending = new AtomicBoolean();
+    this.skippedFrames = new LongAdder();
+    this.slices = 1;
+    this.periodMultiplier = 1;
   }
 
   /**
-   * Schedules the executor to execute the logic every
-   * 'x' amount time, this time is set during constructor.
+   * Schedules this model on the given timing wheel to execute
+   * the logic every 'x' amount time, this time is the period set
+   * before the scheduling.
    *
+   * @param timingWheel the {@link ScoreboardTimingWheel}.
    * @since 0.0.1
    */
-  public void schedule() {
-    this.executorService.scheduleAtFixedRate(this, 0, this.periodRate, TimeUnit.SECONDS);
+  public void schedule(final @NotNull ScoreboardTimingWheel timingWheel) {
+    this.timingWheel = timingWheel;
+    this.scheduledTask = timingWheel.register(this);
     this.running = true;
   }
 
+  /**
+   * Executes the logic of this model, only if it isn't
+   * already being executed. If a flush is being executed,
+   * the frame is executed once the flush completes.
+   *
+   * @since 0.0.1
+   */
+  void execute() {
+    if (!this.running) {
+      return;
+    }
+    // The frame is marked as pending before the guard is taken, so
+    // a flush that releases it later always finds the mark.
+    this.framePending.set(true);
+    // The guard and the kind of execution that holds it are a single
+    // state, so a flush can't release it between both checks.
+    while (!this.executionState.compareAndSet(IDLE, EXECUTING)) {
+      final var state = this.executionState.get();
+      // A flush is short, so the frame is deferred until it completes
+      // instead, the flush finds the mark once it releases the guard.
+      if (state == FLUSHING) {
+        return;
+      }
+      // The previous execution is still in progress, we don't
+      // queue this one, the frame is dropped.
+      if (state == EXECUTING) {
+        this.framePending.set(false);
+        this.skippedFrames.increment();
+        return;
+      }
+    }
+    this.framePending.set(false);
+    this.executingThread = Thread.currentThread();
+    // The slice only advances here, so it is stable during
+    // the whole execution.
+    final var slices = this.slices;
+    this.currentSlice = (this.currentSlice + 1 >= slices) ? 0 : this.currentSlice + 1;
+    final var startNanos = System.nanoTime();
+    try {
+      // The pending flush work is done as part of this execution.
+      this.flushRequested.set(false);
+      this.flush();
+      this.run();
+    } catch (final Throwable throwable) {
+      // An exception must never cancel the next executions
+      // of this model, an error is not recoverable so it is thrown.
+      this.logFailure(throwable);
+    } finally {
+      this.recordRun(System.nanoTime() - startNanos);
+      this.executingThread = null;
+      this.executionState.set(IDLE);
+    }
+    this.expediteRequestedFlush();
+  }
+
+  /**
+   * Executes the flush logic of this model, only if it isn't
+   * already being executed, otherwise the flush is requested
+   * again once the current execution completes.
+   *
+   * @since 0.0.1
+   */
+  void executeFlush() {
+    if (!this.running || !this.executionState.compareAndSet(IDLE, FLUSHING)) {
+      return;
+    }
+    this.executingThread = Thread.currentThread();
+    try {
+      this.flushRequested.set(false);
+      this.flush();
+    } catch (final Throwable throwable) {
+      this.logFailure(throwable);
+    } finally {
+      this.executingThread = null;
+      this.executionState.set(IDLE);
+    }
+    // A periodic execution was due during the flush, it is
+    // executed now instead of being dropped. The mark is read
+    // after the guard is released, so a frame that has found
+    // the flush always has set it before.
+    if (this.framePending.get()) {
+      this.execute();
+      return;
+    }
+    this.expediteRequestedFlush();
+  }
+
+  /**
+   * Logs a failure of an execution, the errors are thrown
+   * again once logged.
+   *
+   * @param throwable the failure.
+   * @since 0.0.1
+   */
+  private void logFailure(final @NotNull Throwable throwable) {
+    LOGGER.error("An exception has occurred during the execution of '{}' executor model.", this.getClass().getSimpleName(), throwable);
+    if (throwable instanceof Error error) {
+      throw error;
+    }
+  }
+
+  /**
+   * Requests the execution of the flush logic of this model on
+   * the next tick of the timing wheel, the requests are coalesced
+   * until the flush is executed.
+   *
+   * @since 0.0.1
+   */
+  public void requestFlush() {
+    final var task = this.scheduledTask;
+    if (task == null || !this.running) {
+      return;
+    }
+    if (this.flushRequested.compareAndSet(false, true)) {
+      this.timingWheel.expedite(task);
+    }
+  }
+
+  private void expediteRequestedFlush() {
+    // A flush was requested while this model was being executed,
+    // and their dispatch found it busy.
+    final var task = this.scheduledTask;
+    if (task != null && this.running && this.flushRequested.get()) {
+      this.timingWheel.expedite(task);
+    }
+  }
+
+  /**
+   * Executes the work requested through {@link #requestFlush()},
+   * such as the invalidated content. It is also executed before
+   * every periodic execution. By default, it does nothing.
+   *
+   * @since 0.0.1
+   */
+  protected void flush() {
+  }
+
+  /**
+   * Records the duration of an execution, these fields are only
+   * written by the thread that holds the execution guard.
+   *
+   * @param runNanos the execution duration in nanoseconds.
+   * @since 0.0.1
+   */
+  private void recordRun(final long runNanos) {
+    this.executions++;
+    this.lastRunNanos = runNanos;
+    if (runNanos > this.maxRunNanos) {
+      this.maxRunNanos = runNanos;
+    }
+    // The execution took longer than the time between executions,
+    // so the next frame (or more) will be skipped.
+    final var overrunNanos = runNanos - TimeUnit.MILLISECONDS.toNanos(this.slicePeriodMillis());
+    if (overrunNanos > 0) {
+      this.overruns++;
+      this.totalOverrunNanos += overrunNanos;
+    }
+  }
+
+  /**
+   * Returns the amount of completed executions of this model.
+   *
+   * @return The amount of executions.
+   * @since 0.0.1
+   */
+  public long executions() {
+    return this.executions;
+  }
+
+  /**
+   * Returns the amount of executions that took longer than
+   * the {@link #slicePeriodMillis()}.
+   *
+   * @return The amount of overruns.
+   * @since 0.0.1
+   */
+  public long overruns() {
+    return this.overruns;
+  }
+
+  /**
+   * Returns the accumulated time that the overrunning executions
+   * exceeded the {@link #slicePeriodMillis()}, in nanoseconds.
+   *
+   * @return The total overrun time in nanoseconds.
+   * @since 0.0.1
+   */
+  public long totalOverrunNanos() {
+    return this.totalOverrunNanos;
+  }
+
+  /**
+   * Returns the amount of frames that were dropped because
+   * the previous execution was still in progress.
+   *
+   * @return The amount of skipped frames.
+   * @since 0.0.1
+   */
+  public long skippedFrames() {
+    return this.skippedFrames.sum();
+  }
+
+  /**
+   * Returns the duration of the last execution, in nanoseconds.
+   *
+   * @return The last execution duration in nanoseconds.
+   * @since 0.0.1
+   */
+  public long lastRunNanos() {
+    return this.lastRunNanos;
+  }
+
+  /**
+   * Returns the longest execution duration, in nanoseconds.
+   *
+   * @return The longest execution duration in nanoseconds.
+   * @since 0.0.1
+   */
+  public long maxRunNanos() {
+    return this.maxRunNanos;
+  }
+
   /**
    * Returns the current period-rate for this
-   * executor model.
+   * executor model, in whole seconds.
    *
-   * @return The period-rate for this {@link CustomExecutorThreadModel}.
+   * @return The period-rate for this {@link CustomExecutorThreadModel},
+   *     rounded down, so a period under a second is zero, and clamped
+   *     to {@link Byte#MAX_VALUE}.
    * @since 0.0.1
+   * @deprecated the period can be shorter than a second, use
+   *     {@link #periodMillis()} instead.
    */
+  @Deprecated
   public byte periodRate() {
-    return this.periodRate;
+    return (byte) Math.min(Byte.MAX_VALUE, TimeUnit.MILLISECONDS.toSeconds(this.periodMillis));
   }
 
   /**
    * Sets a new period-rate for this executor
-   * model.
+   * model, in seconds.
    *
    * @param newPeriodRate the new period-rate.
    * @since 0.0.1
    */
   public void periodRate(final int newPeriodRate) {
-    this.periodRate = (byte) newPeriodRate;
+    this.periodMillis(TimeUnit.SECONDS.toMillis(newPeriodRate));
+  }
+
+  /**
+   * Returns the current period for this executor
+   * model, in milliseconds.
+   *
+   * @return The period in milliseconds.
+   * @since 0.0.1
+   */
+  public long periodMillis() {
+    return this.periodMillis;
+  }
+
+  /**
+   * Sets a new period for this executor model, in
+   * milliseconds. The period is rounded up to the
+   * {@link ScoreboardTimingWheel#TICK_MILLIS} resolution, and
+   * divided by the amount of {@link #slices()}.
+   * <p>
+   * If this model is already scheduled, it is rescheduled
+   * atomically, the next execution happens a new period
+   * after the last one.
+   *
+   * @param newPeriodMillis the new period in milliseconds.
+   * @since 0.0.1
+   */
+  public void periodMillis(final long newPeriodMillis) {
+    if (newPeriodMillis == this.periodMillis) {
+      return;
+    }
+    this.periodMillis = newPeriodMillis;
+    if (newPeriodMillis <= 0) {
+      return;
+    }
+    // A shorter period could not fit the current amount of slices.
+    this.slices = (int) Math.max(1, Math.min(this.slices, newPeriodMillis / ScoreboardTimingWheel.TICK_MILLIS));
+    this.rescheduleIfScheduled();
+  }
+
+  private void rescheduleIfScheduled() {
+    final var task = this.scheduledTask;
+    // The model is not scheduled yet, the new period will be
+    // used during the scheduling.
+    if (task == null || this.periodMillis <= 0) {
+      return;
+    }
+    this.timingWheel.reschedule(task, this.slicePeriodMillis());
+  }
+
+  /**
+   * Returns the period between the executions of this model,
+   * this is the period multiplied by the period multiplier, and
+   * divided by the amount of slices, but never less than a
+   * {@link ScoreboardTimingWheel#TICK_MILLIS}.
+   *
+   * @return The period between executions in milliseconds.
+   * @since 0.0.1
+   */
+  public long slicePeriodMillis() {
+    return Math.max(ScoreboardTimingWheel.TICK_MILLIS, this.periodMillis * this.periodMultiplier / this.slices);
+  }
+
+  /**
+   * Returns the multiplier applied to the period of this model.
+   *
+   * @return The period multiplier.
+   * @since 0.0.1
+   */
+  public int periodMultiplier() {
+    return this.periodMultiplier;
+  }
+
+  /**
+   * Sets a new multiplier for the period of this model, used
+   * to back off the executions without modifying the configured
+   * period. If this model is already scheduled, it is rescheduled
+   * atomically.
+   *
+   * @param newPeriodMultiplier the new period multiplier.
+   * @since 0.0.1
+   */
+  public void periodMultiplier(final int newPeriodMultiplier) {
+    final var periodMultiplier = Math.max(1, newPeriodMultiplier);
+    if (periodMultiplier == this.periodMultiplier) {
+      return;
+    }
+    this.periodMultiplier = periodMultiplier;
+    this.rescheduleIfScheduled();
+  }
+
+  /**
+   * Returns the amount of slices in which the period of
+   * this model is split.
+   *
+   * @return The amount of slices.
+   * @since 0.0.1
+   */
+  public int slices() {
+    return this.slices;
+  }
+
+  /**
+   * Sets the amount of slices in which the period of this model
+   * is split, it is limited so each slice lasts at least a
+   * {@link ScoreboardTimingWheel#TICK_MILLIS}. If this model is
+   * already scheduled, it is rescheduled atomically.
+   *
+   * @param newSlices the new amount of slices.
+   * @since 0.0.1
+   */
+  public void slices(final int newSlices) {
+    final var maxSlices = Math.max(1, this.periodMillis / ScoreboardTimingWheel.TICK_MILLIS);
+    final var slices = (int) Math.max(1, Math.min(newSlices, maxSlices));
+    if (slices == this.slices) {
+      return;
+    }
+    this.slices = slices;
+    this.rescheduleIfScheduled();
+  }
+
+  /**
+   * Returns the slice processed by the current execution,
+   * between zero and {@link #slices()} exclusive.
+   *
+   * @return The current slice.
+   * @since 0.0.1
+   */
+  protected int currentSlice() {
+    return this.currentSlice;
+  }
+
+  /**
+   * Checks whether the given scoreboard belongs to the slice
+   * processed by the current execution. Scoreboards are assigned
+   * to slices by their arena slot, so they stay in the same one.
+   *
+   * @param scoreboardModel the scoreboard to check.
+   * @return Whether the scoreboard belongs to the current slice.
+   * @since 0.0.1
+   */
+  protected boolean inCurrentSlice(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var slices = this.slices;
+    return (slices <= 1) || (scoreboardModel.slot() % slices == this.currentSlice % slices);
+  }
+
+  /**
+   * Returns the visible scoreboards of the slice processed by the
+   * current execution, the other slices are never dispatched.
+   *
+   * @return The visible {@link CachedScoreboardModel}s in the current slice.
+   * @since 0.0.1
+   */
+  protected @NotNull Collection<@NotNull CachedScoreboardModel> currentSliceScoreboards() {
+    return this.scoreboardRepository.visibleScoreboards(this.currentSlice, this.slices);
+  }
+
+  /**
+   * Sets a new period for this executor model, in
+   * game ticks.
+   *
+   * @param newPeriodTicks the new period in game ticks.
+   * @since 0.0.1
+   */
+  public void periodTicks(final int newPeriodTicks) {
+    this.periodMillis(newPeriodTicks * ScoreboardTimingWheel.TICK_MILLIS);
   }
 
   /**
@@ -96,8 +529,8 @@ public abstract class CustomExecutorThreadModel implements Runnable {
   }
 
   /**
-   * Shutdowns this executor thread and provide a final result
-   * depending on operation status.
+   * Shutdowns this executor model, removing it from the timing
+   * wheel, and provide a final result depending on operation status.
    *
    * @return The {@link ExecutorThreadShutdownResult} with several
    *     status.
@@ -119,16 +552,28 @@ public abstract class CustomExecutorThreadModel implements Runnable {
     if (!this.running) {
       return ExecutorThreadShutdownResult.withAlreadyShutdown();
     }
-    // We mark this executor as no running anymore, and we start the shutdown
-    // process for the executor.
+    // We mark this executor as no running anymore, and we remove it
+    // from the timing wheel.
     this.running = false;
+    final var task = this.scheduledTask;
+    if (task != null) {
+      task.cancel();
+      this.scheduledTask = null;
+    }
+    // The shutdown was requested by the model logic itself, so
+    // there's no execution to wait for.
+    if (this.executingThread == Thread.currentThread()) {
+      return ExecutorThreadShutdownResult.withShutdownWithTermination();
+    }
     try {
-      this.executorService.shutdown();
-      final var terminatedAfterTimeoutElapsed = !this.executorService.awaitTermination(5, TimeUnit.SECONDS);
-      // Checks if the executor has terminated after the timeout specified (5 seconds).
-      if (terminatedAfterTimeoutElapsed) {
-        this.executorService.shutdownNow();
-        return ExecutorThreadShutdownResult.withShutdownImmediate();
+      // Waits for the current execution, if any, to finish before
+      // the timeout specified (5 seconds).
+      final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (this.executionState.get() != IDLE) {
+        if (System.nanoTime() >= deadline) {
+          return ExecutorThreadShutdownResult.withShutdownImmediate();
+        }
+        Thread.sleep(10);
       }
       // Executor has ended correctly before time-out have elapsed.
       return ExecutorThreadShutdownResult.withShutdownWithTermination();
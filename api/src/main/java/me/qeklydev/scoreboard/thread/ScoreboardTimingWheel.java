@@ -0,0 +1,264 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a hashed timing wheel that multiplexes every
+ * scheduled {@link CustomExecutorThreadModel} on a single ticker
+ * thread, ticking each {@link ScoreboardTimingWheel#TICK_MILLIS}.
+ * <p>
+ * The ticker thread only finds the due models, their logic is
+ * executed on a small worker pool, so a slow model never delays
+ * the timing for the others.
+ *
+ * @since 0.0.1
+ */
+public final class ScoreboardTimingWheel {
+  /**
+   * The duration of a single tick of the wheel, same as
+   * a game tick.
+   *
+   * @since 0.0.1
+   */
+  public static final long TICK_MILLIS = 50;
+  private static final int WHEEL_SIZE = 512;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private final ArrayDeque<Task>[] buckets;
+  private final Queue<Task> pendingTasks;
+  private final Queue<Task> rescheduledPeriodTasks;
+  private final Queue<Task> expeditedTasks;
+  private final ArrayList<Task> rescheduledTasks;
+  private final ScheduledExecutorService tickerService;
+  private final ExecutorService workerService;
+  private long tick;
+
+  /**
+   * Creates a new timing wheel with the given amount of
+   * worker threads.
+   *
+   * @param workerThreads the amount of worker threads.
+   * @since 0.0.1
+   */
+  @SuppressWarnings("unchecked")
+  public ScoreboardTimingWheel(final int workerThreads) {
+    this.buckets = new ArrayDeque[WHEEL_SIZE];
+    for (int index = 0; index < WHEEL_SIZE; index++) {
+      this.buckets[index] = new ArrayDeque<>();
+    }
+    this.pendingTasks = new ConcurrentLinkedQueue<>();
+    this.rescheduledPeriodTasks = new ConcurrentLinkedQueue<>();
+    this.expeditedTasks = new ConcurrentLinkedQueue<>();
+    this.rescheduledTasks = new ArrayList<>();
+    this.tickerService = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "ScoreboardTimingWheelExecutor"));
+    final var workerCount = new AtomicInteger();
+    this.workerService = Executors.newFixedThreadPool(Math.max(1, workerThreads),
+        r -> new Thread(r, "ScoreboardWorkerExecutor-" + workerCount.incrementAndGet()));
+    this.tickerService.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Converts the given milliseconds to wheel ticks, rounding
+   * up, with a minimum of a single tick.
+   *
+   * @param millis the milliseconds.
+   * @return The amount of ticks.
+   * @since 0.0.1
+   */
+  public static long toTicks(final long millis) {
+    return Math.max(1, (millis + TICK_MILLIS - 1) / TICK_MILLIS);
+  }
+
+  /**
+   * Registers the given executor model, it will be executed
+   * on the next tick and then every slice period of the model.
+   *
+   * @param executorModel the {@link CustomExecutorThreadModel}.
+   * @return The {@link Task} for this registration.
+   * @since 0.0.1
+   */
+  @NotNull Task register(final @NotNull CustomExecutorThreadModel executorModel) {
+    final var task = new Task(executorModel, toTicks(executorModel.slicePeriodMillis()));
+    this.pendingTasks.add(task);
+    return task;
+  }
+
+  /**
+   * Changes the period of the given task, the change is applied
+   * by the ticker thread on the next tick, without dropping or
+   * doubling executions.
+   *
+   * @param task the task to reschedule.
+   * @param newPeriodMillis the new period in milliseconds.
+   * @since 0.0.1
+   */
+  void reschedule(final @NotNull Task task, final long newPeriodMillis) {
+    task.periodTicks = toTicks(newPeriodMillis);
+    this.rescheduledPeriodTasks.add(task);
+  }
+
+  /**
+   * Requests a flush of the given task on the next tick, without
+   * modifying their periodic executions.
+   *
+   * @param task the task to flush.
+   * @since 0.0.1
+   */
+  void expedite(final @NotNull Task task) {
+    this.expeditedTasks.add(task);
+  }
+
+  /**
+   * Processes the current bucket of the wheel, dispatching
+   * every due task to the worker pool.
+   *
+   * @since 0.0.1
+   */
+  private void tick() {
+    final var currentTick = this.tick;
+    // New registrations are placed by the ticker thread only, so
+    // the buckets never need any lock.
+    Task pendingTask;
+    while ((pendingTask = this.pendingTasks.poll()) != null) {
+      pendingTask.deadline = currentTick;
+      this.bucketFor(currentTick).add(pendingTask);
+    }
+    // The rescheduled tasks are moved to the deadline that follows their
+    // last execution with the new period, or to this tick if it is already
+    // elapsed, so no frame is dropped or executed twice.
+    Task rescheduledTask;
+    while ((rescheduledTask = this.rescheduledPeriodTasks.poll()) != null) {
+      if (rescheduledTask.cancelled || !this.bucketFor(rescheduledTask.deadline).remove(rescheduledTask)) {
+        continue;
+      }
+      rescheduledTask.deadline = (rescheduledTask.lastDispatchTick < 0)
+          ? currentTick
+          : Math.max(rescheduledTask.lastDispatchTick + rescheduledTask.periodTicks, currentTick);
+      this.bucketFor(rescheduledTask.deadline).add(rescheduledTask);
+    }
+    final var bucket = this.buckets[(int) (currentTick & WHEEL_MASK)];
+    final var iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      final var task = iterator.next();
+      if (task.cancelled) {
+        iterator.remove();
+        continue;
+      }
+      // The task belongs to a later round of the wheel.
+      if (task.deadline > currentTick) {
+        continue;
+      }
+      iterator.remove();
+      task.lastDispatchTick = currentTick;
+      this.workerService.execute(task.executorModel::execute);
+      // Missed deadlines are not replayed, the next execution is
+      // always placed in the future.
+      task.deadline = Math.max(task.deadline + task.periodTicks, currentTick + 1);
+      this.rescheduledTasks.add(task);
+    }
+    // Tasks are placed after the iteration, as a period multiple of the
+    // wheel size places them into the same bucket.
+    for (final var task : this.rescheduledTasks) {
+      this.bucketFor(task.deadline).add(task);
+    }
+    this.rescheduledTasks.clear();
+    // The flushes are dispatched after the periodic executions, a
+    // task executed on this tick already flushes as part of it.
+    Task expeditedTask;
+    while ((expeditedTask = this.expeditedTasks.poll()) != null) {
+      if (!expeditedTask.cancelled && expeditedTask.lastDispatchTick != currentTick) {
+        this.workerService.execute(expeditedTask.executorModel::executeFlush);
+      }
+    }
+    this.tick = currentTick + 1;
+  }
+
+  private @NotNull ArrayDeque<Task> bucketFor(final long deadline) {
+    return this.buckets[(int) (deadline & WHEEL_MASK)];
+  }
+
+  /**
+   * Shutdowns the ticker and worker threads of this wheel.
+   *
+   * @return The {@link ExecutorThreadShutdownResult} for
+   *     this operation.
+   * @since 0.0.1
+   */
+  public @NotNull ExecutorThreadShutdownResult shutdown() {
+    if (this.tickerService.isShutdown()) {
+      return ExecutorThreadShutdownResult.withAlreadyShutdown();
+    }
+    try {
+      // The ticker is terminated first, so it never dispatches
+      // a task into a shutdown worker pool.
+      this.tickerService.shutdown();
+      var terminatedAfterTimeoutElapsed = !this.tickerService.awaitTermination(5, TimeUnit.SECONDS);
+      this.workerService.shutdown();
+      terminatedAfterTimeoutElapsed |= !this.workerService.awaitTermination(5, TimeUnit.SECONDS);
+      // Checks if the executors have terminated after the timeout specified (5 seconds).
+      if (terminatedAfterTimeoutElapsed) {
+        this.tickerService.shutdownNow();
+        this.workerService.shutdownNow();
+        return ExecutorThreadShutdownResult.withShutdownImmediate();
+      }
+      return ExecutorThreadShutdownResult.withShutdownWithTermination();
+    } catch (final InterruptedException exception) {
+      exception.printStackTrace();
+      return ExecutorThreadShutdownResult.withError();
+    }
+  }
+
+  /**
+   * A registration of an executor model in the wheel.
+   *
+   * @since 0.0.1
+   */
+  static final class Task {
+    private final CustomExecutorThreadModel executorModel;
+    private volatile long periodTicks;
+    private volatile boolean cancelled;
+    private long deadline;
+    private long lastDispatchTick = -1;
+
+    Task(final @NotNull CustomExecutorThreadModel executorModel, final long periodTicks) {
+      this.executorModel = executorModel;
+      this.periodTicks = periodTicks;
+    }
+
+    /**
+     * Cancels this task, it will be removed from the
+     * wheel during the next pass over their bucket.
+     *
+     * @since 0.0.1
+     */
+    void cancel() {
+      this.cancelled = true;
+    }
+  }
+}
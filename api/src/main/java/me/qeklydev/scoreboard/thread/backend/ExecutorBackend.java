@@ -0,0 +1,80 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread.backend;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This interface is used as model for the backends that
+ * execute the per-board work of a frame for the
+ * {@link me.qeklydev.scoreboard.thread.CustomExecutorThreadModel}
+ * implementations.
+ *
+ * @since 0.0.1
+ */
+public interface ExecutorBackend {
+  /**
+   * Executes the given work for every provided scoreboard,
+   * this method returns once the work for all of them has
+   * been completed, unless this backend is {@link #asynchronous()}.
+   *
+   * @param scoreboards the scoreboards to process.
+   * @param work the work to execute for each scoreboard.
+   * @since 0.0.1
+   */
+  void execute(final @NotNull Collection<@NotNull CachedScoreboardModel> scoreboards,
+               final @NotNull Consumer<@NotNull CachedScoreboardModel> work);
+
+  /**
+   * Returns whether this backend only dispatches the work, and
+   * returns before it has been completed.
+   *
+   * @return Whether the work could still be pending once
+   *     {@link #execute(Collection, Consumer)} returns.
+   * @since 0.0.1
+   */
+  default boolean asynchronous() {
+    return false;
+  }
+
+  /**
+   * Checks whether the work of a previous execution for the given
+   * scoreboard is still in progress, so this backend would skip
+   * the scoreboard on the next {@link #execute(Collection, Consumer)}.
+   *
+   * @param scoreboardModel the scoreboard to check.
+   * @return Whether the scoreboard would be skipped.
+   * @since 0.0.1
+   */
+  default boolean busy(final @NotNull CachedScoreboardModel scoreboardModel) {
+    return false;
+  }
+
+  /**
+   * Shutdowns the threads used by this backend, if any.
+   *
+   * @return The {@link ExecutorThreadShutdownResult} for
+   *     this operation.
+   * @since 0.0.1
+   */
+  @NotNull ExecutorThreadShutdownResult shutdown();
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This backend splits the scoreboards into partitions and
+ * executes them on a bounded {@link ForkJoinPool}, the frame
+ * is completed once every partition has been processed.
+ *
+ * @since 0.0.1
+ */
+public final class PartitionedExecutorBackend implements ExecutorBackend {
+  private final ForkJoinPool pool;
+  private final int parallelism;
+
+  public PartitionedExecutorBackend(final int parallelism) {
+    this.parallelism = Math.max(1, parallelism);
+    this.pool = new ForkJoinPool(this.parallelism, pool -> {
+      final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("ScoreboardPartitionExecutor-" + thread.getPoolIndex());
+      return thread;
+    }, null, false);
+  }
+
+  @Override
+  public void execute(final @NotNull Collection<@NotNull CachedScoreboardModel> scoreboards,
+                      final @NotNull Consumer<@NotNull CachedScoreboardModel> work) {
+    // The weakly consistent collection is copied once, so every
+    // partition works over a same stable frame.
+    final var snapshot = scoreboards.toArray(new CachedScoreboardModel[0]);
+    final var partitions = Math.min(this.parallelism, snapshot.length);
+    // There's nothing to split, so we avoid the pool round-trip.
+    if (partitions <= 1) {
+      for (final var scoreboardModel : snapshot) {
+        work.accept(scoreboardModel);
+      }
+      return;
+    }
+    final var partitionSize = (snapshot.length + partitions - 1) / partitions;
+    final var tasks = new ArrayList<Callable<Void>>(partitions);
+    for (int from = 0; from < snapshot.length; from += partitionSize) {
+      final var start = from;
+      final var end = Math.min(from + partitionSize, snapshot.length);
+      tasks.add(() -> {
+        for (int index = start; index < end; index++) {
+          work.accept(snapshot[index]);
+        }
+        return null;
+      });
+    }
+    // Blocks until every partition has completed.
+    for (final var future : this.pool.invokeAll(tasks)) {
+      try {
+        future.get();
+      } catch (final Exception exception) {
+        exception.printStackTrace();
+      }
+    }
+  }
+
+  @Override
+  public @NotNull ExecutorThreadShutdownResult shutdown() {
+    if (this.pool.isShutdown()) {
+      return ExecutorThreadShutdownResult.withAlreadyShutdown();
+    }
+    try {
+      this.pool.shutdown();
+      // Checks if the pool has terminated after the timeout specified (5 seconds).
+      if (!this.pool.awaitTermination(5, TimeUnit.SECONDS)) {
+        this.pool.shutdownNow();
+        return ExecutorThreadShutdownResult.withShutdownImmediate();
+      }
+      return ExecutorThreadShutdownResult.withShutdownWithTermination();
+    } catch (final InterruptedException exception) {
+      exception.printStackTrace();
+      return ExecutorThreadShutdownResult.withError();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread.backend;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This backend dispatches the work of every scoreboard on the
+ * entity scheduler of its player, so on Folia it is executed
+ * by the thread that owns the region where the player is.
+ * <p>
+ * The work is only dispatched, this backend doesn't wait for the
+ * region threads, so the models check their frame generation before
+ * writing the result of a late execution.
+ *
+ * @since 0.0.1
+ */
+public final class RegionizedExecutorBackend implements ExecutorBackend {
+  private static final String REGIONIZED_SERVER_CLASS = "io.papermc.paper.threadedregions.RegionizedServer";
+  private final Plugin plugin;
+  private volatile boolean shutdown;
+
+  public RegionizedExecutorBackend(final @NotNull Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Checks whether the server is running with regionised
+   * multithreading (Folia).
+   *
+   * @return Whether the server is regionised.
+   * @since 0.0.1
+   */
+  public static boolean regionized() {
+    try {
+      Class.forName(REGIONIZED_SERVER_CLASS);
+      return true;
+    } catch (final ClassNotFoundException exception) {
+      return false;
+    }
+  }
+
+  @Override
+  public void execute(final @NotNull Collection<@NotNull CachedScoreboardModel> scoreboards,
+                      final @NotNull Consumer<@NotNull CachedScoreboardModel> work) {
+    if (this.shutdown) {
+      return;
+    }
+    for (final var scoreboardModel : scoreboards) {
+      // If the player was already removed, the scheduler returns 'null'
+      // and the work is discarded, as there is nothing to update.
+      scoreboardModel.player().getScheduler().run(this.plugin, task -> work.accept(scoreboardModel), null);
+    }
+  }
+
+  @Override
+  public boolean asynchronous() {
+    return true;
+  }
+
+  @Override
+  public @NotNull ExecutorThreadShutdownResult shutdown() {
+    // The region threads are owned by the server, we only stop
+    // dispatching new work.
+    if (this.shutdown) {
+      return ExecutorThreadShutdownResult.withAlreadyShutdown();
+    }
+    this.shutdown = true;
+    return ExecutorThreadShutdownResult.withShutdownWithTermination();
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread.backend;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This backend executes the work for every scoreboard on
+ * the thread that executes the model.
+ *
+ * @since 0.0.1
+ */
+public final class SerialExecutorBackend implements ExecutorBackend {
+  @Override
+  public void execute(final @NotNull Collection<@NotNull CachedScoreboardModel> scoreboards,
+                      final @NotNull Consumer<@NotNull CachedScoreboardModel> work) {
+    for (final var scoreboardModel : scoreboards) {
+      work.accept(scoreboardModel);
+    }
+  }
+
+  @Override
+  public @NotNull ExecutorThreadShutdownResult shutdown() {
+    return ExecutorThreadShutdownResult.withAlreadyShutdown();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.thread.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This backend executes the work of every scoreboard on its own
+ * virtual thread, so a blocking call for a player never delays
+ * the others. The timing is still driven by the platform threads
+ * of the {@link me.qeklydev.scoreboard.thread.ScoreboardTimingWheel}.
+ * <p>
+ * Virtual threads are available since Java 21, as the project
+ * targets Java 17 the executor is looked up at runtime.
+ *
+ * @since 0.0.1
+ */
+public final class VirtualThreadExecutorBackend implements ExecutorBackend {
+  private static final long FRAME_TIMEOUT_MILLIS = 1000;
+  private final ExecutorService executorService;
+  private final Set<CachedScoreboardModel> inFlightScoreboards;
+
+  private VirtualThreadExecutorBackend(final @NotNull ExecutorService executorService) {
+    this.executorService = executorService;
+    this.inFlightScoreboards = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Creates a new virtual-thread backend if the running
+   * Java version supports them.
+   *
+   * @return The {@link VirtualThreadExecutorBackend}, or {@code null}
+   *     if virtual threads are not available.
+   * @since 0.0.1
+   */
+  public static @Nullable VirtualThreadExecutorBackend create() {
+    try {
+      final var factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return new VirtualThreadExecutorBackend((ExecutorService) factoryMethod.invoke(null));
+    } catch (final ReflectiveOperationException exception) {
+      return null;
+    }
+  }
+
+  @Override
+  public void execute(final @NotNull Collection<@NotNull CachedScoreboardModel> scoreboards,
+                      final @NotNull Consumer<@NotNull CachedScoreboardModel> work) {
+    final var futures = new ArrayList<Future<?>>(scoreboards.size());
+    for (final var scoreboardModel : scoreboards) {
+      // The work of the previous frame for this scoreboard is still
+      // blocked, this frame is skipped only for it.
+      if (!this.inFlightScoreboards.add(scoreboardModel)) {
+        continue;
+      }
+      futures.add(this.executorService.submit(() -> {
+        try {
+          work.accept(scoreboardModel);
+        } finally {
+          this.inFlightScoreboards.remove(scoreboardModel);
+        }
+      }));
+    }
+    // The frame waits for the scoreboards up to the timeout, the slow
+    // ones keep running in their threads without delaying next frames.
+    final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FRAME_TIMEOUT_MILLIS);
+    for (final var future : futures) {
+      try {
+        future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (final TimeoutException exception) {
+        // Continue with the next future, it could be already done.
+      } catch (final ExecutionException exception) {
+        exception.printStackTrace();
+      } catch (final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public boolean asynchronous() {
+    // The slow scoreboards keep running after the frame timeout.
+    return true;
+  }
+
+  @Override
+  public boolean busy(final @NotNull CachedScoreboardModel scoreboardModel) {
+    return this.inFlightScoreboards.contains(scoreboardModel);
+  }
+
+  @Override
+  public @NotNull ExecutorThreadShutdownResult shutdown() {
+    if (this.executorService.isShutdown()) {
+      return ExecutorThreadShutdownResult.withAlreadyShutdown();
+    }
+    try {
+      this.executorService.shutdown();
+      // Checks if the executor has terminated after the timeout specified (5 seconds).
+      if (!this.executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+        this.executorService.shutdownNow();
+        return ExecutorThreadShutdownResult.withShutdownImmediate();
+      }
+      return ExecutorThreadShutdownResult.withShutdownWithTermination();
+    } catch (final InterruptedException exception) {
+      exception.printStackTrace();
+      return ExecutorThreadShutdownResult.withError();
+    }
+  }
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides the backends used by the executor models to
+ * execute the per-board work of each frame.
+ *
+ * @since 0.0.1
+ */
+package me.qeklydev.scoreboard.thread.backend;
\ No newline at end of file
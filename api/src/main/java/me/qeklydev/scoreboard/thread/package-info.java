@@ -1,6 +1,6 @@
 /**
  * Provides an abstract model for handling with implementations
- * that use an {@link java.util.concurrent.ScheduledExecutorService}.
+ * that are multiplexed by a shared {@link me.qeklydev.scoreboard.thread.ScoreboardTimingWheel}.
  *
  * @since 0.0.1
  */
@@ -0,0 +1,341 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.thread.CustomExecutorThreadModel;
+import me.qeklydev.scoreboard.thread.backend.ExecutorBackend;
+import me.qeklydev.scoreboard.thread.backend.PartitionedExecutorBackend;
+import net.kyori.adventure.text.Component;
+import net.megavex.scoreboardlibrary.api.sidebar.Sidebar;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress test for the world buckets of the {@link ScoreboardModelRepository},
+ * the players are registered, moved between worlds and unregistered while
+ * other threads iterate the buckets and the visible scoreboards, and an
+ * updater dispatches their lines through an {@link ExecutorBackend}.
+ *
+ * @since 0.0.1
+ */
+final class ScoreboardModelRepositoryTest {
+  private static final String[] WORLDS = {"world", "world_nether", "world_the_end"};
+  private static final int PLAYERS = 256;
+  private static final int MUTATOR_THREADS = 4;
+  private static final int READER_THREADS = 4;
+  private static final int OPERATIONS = 20_000;
+  private static final int LINES = 4;
+  private static final String LINE_KEY = "line";
+
+  @Test
+  void concurrentMutationAndIteration() throws InterruptedException {
+    final var repository = new ScoreboardModelRepository();
+    for (final var world : WORLDS) {
+      repository.loadWorld(world);
+    }
+    final var players = new ArrayList<TestPlayer>(PLAYERS);
+    for (int index = 0; index < PLAYERS; index++) {
+      players.add(new TestPlayer(UUID.randomUUID(), WORLDS[index % WORLDS.length]));
+    }
+    final var failures = new ConcurrentLinkedQueue<Throwable>();
+    final var mutating = new AtomicBoolean(true);
+    final var start = new CountDownLatch(1);
+    final var threads = new ArrayList<Thread>();
+    final var executorBackend = new PartitionedExecutorBackend(2);
+    final var updater = new TestUpdater(repository, executorBackend, failures);
+    for (int thread = 0; thread < MUTATOR_THREADS; thread++) {
+      // Every mutator owns a part of the players, same as a player
+      // is only mutated by the thread that owns it on the server.
+      final var ownedPlayers = players.subList(thread * PLAYERS / MUTATOR_THREADS, (thread + 1) * PLAYERS / MUTATOR_THREADS);
+      threads.add(new Thread(() -> mutate(repository, ownedPlayers, start, failures)));
+    }
+    for (int thread = 0; thread < READER_THREADS; thread++) {
+      threads.add(new Thread(() -> iterate(repository, mutating, start, failures)));
+    }
+    // The updater runs their frames and flushes during the whole churn.
+    threads.add(new Thread(() -> update(updater, mutating, start, failures)));
+    for (final var thread : threads) {
+      thread.start();
+    }
+    start.countDown();
+    for (final var thread : threads.subList(0, MUTATOR_THREADS)) {
+      thread.join(TimeUnit.MINUTES.toMillis(1));
+    }
+    mutating.set(false);
+    for (final var thread : threads.subList(MUTATOR_THREADS, threads.size())) {
+      thread.join(TimeUnit.MINUTES.toMillis(1));
+    }
+    executorBackend.shutdown();
+    assertTrue(failures.isEmpty(), () -> "Concurrent access failed: " + failures.peek());
+    assertTrue(updater.frames.get() > 0, "The updater has not run any frame");
+    // Once quiescent, every registered model is in the bucket of their
+    // current world only, and the buckets hold no removed model.
+    var registered = 0;
+    for (final var player : players) {
+      final var scoreboardModel = repository.findOrNull(player.uniqueId);
+      if (scoreboardModel == null) {
+        continue;
+      }
+      registered++;
+      for (final var world : WORLDS) {
+        assertEquals(world.equals(player.world.get()), repository.worldScoreboards(world).contains(scoreboardModel),
+            () -> "Model of " + player.uniqueId + " is in a wrong bucket");
+      }
+    }
+    var bucketed = 0;
+    for (final var world : WORLDS) {
+      for (final var scoreboardModel : repository.worldScoreboards(world)) {
+        assertNotNull(repository.findOrNull(scoreboardModel.player().getUniqueId()));
+        bucketed++;
+      }
+    }
+    assertEquals(registered, bucketed);
+    assertEquals(registered, new HashSet<>(repository.scoreboards()).size());
+  }
+
+  private static void mutate(final @NotNull ScoreboardModelRepository repository, final @NotNull List<TestPlayer> players,
+                             final @NotNull CountDownLatch start, final @NotNull Queue<Throwable> failures) {
+    try {
+      start.await();
+      final var random = ThreadLocalRandom.current();
+      for (int operation = 0; operation < OPERATIONS; operation++) {
+        final var player = players.get(random.nextInt(players.size()));
+        final var scoreboardModel = repository.findOrNull(player.uniqueId);
+        switch (random.nextInt(4)) {
+          case 0 -> repository.register(player.proxy, sidebar());
+          case 1 -> {
+            player.world.set(WORLDS[random.nextInt(WORLDS.length)]);
+            repository.changeWorld(player.proxy);
+          }
+          case 2 -> {
+            if (scoreboardModel != null) {
+              repository.invalidate(scoreboardModel, LINE_KEY);
+            }
+          }
+          default -> {
+            if (scoreboardModel != null) {
+              repository.unregister(scoreboardModel);
+              // A released model never writes into the state of the
+              // player that reuses their slot.
+              assertFalse(scoreboardModel.updateLine(0, Component.text("released")));
+            }
+          }
+        }
+      }
+    } catch (final Throwable throwable) {
+      failures.add(throwable);
+    }
+  }
+
+  private static void iterate(final @NotNull ScoreboardModelRepository repository, final @NotNull AtomicBoolean mutating,
+                              final @NotNull CountDownLatch start, final @NotNull Queue<Throwable> failures) {
+    try {
+      start.await();
+      while (mutating.get()) {
+        for (final var world : WORLDS) {
+          for (final var scoreboardModel : repository.worldScoreboards(world)) {
+            assertNotNull(scoreboardModel.player());
+          }
+        }
+        for (final var scoreboardModel : repository.visibleScoreboards()) {
+          assertNotNull(scoreboardModel.player());
+        }
+        for (final var scoreboardModel : repository.visibleScoreboards(1, 3)) {
+          assertEquals(1, scoreboardModel.slot() % 3);
+        }
+      }
+    } catch (final Throwable throwable) {
+      failures.add(throwable);
+    }
+  }
+
+  private static void update(final @NotNull TestUpdater updater, final @NotNull AtomicBoolean mutating,
+                             final @NotNull CountDownLatch start, final @NotNull Queue<Throwable> failures) {
+    try {
+      start.await();
+      while (mutating.get()) {
+        updater.frame();
+      }
+    } catch (final Throwable throwable) {
+      failures.add(throwable);
+    }
+  }
+
+  private static @NotNull Sidebar sidebar() {
+    return stub(Sidebar.class, Map.of());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> @NotNull T stub(final @NotNull Class<T> type, final @NotNull Map<String, Object> values) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, arguments) ->
+        switch (method.getName()) {
+          case "equals" -> proxy == arguments[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "toString" -> type.getSimpleName() + values;
+          default -> {
+            final var value = values.get(method.getName());
+            if (value instanceof Supplier<?> supplier) {
+              yield supplier.get();
+            }
+            yield (value != null) ? value : defaultValue(method.getReturnType());
+          }
+        });
+  }
+
+  private static @Nullable Object defaultValue(final @NotNull Class<?> type) {
+    if (!type.isPrimitive() || type == void.class) {
+      return null;
+    }
+    if (type == boolean.class) {
+      return false;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == double.class) {
+      return 0D;
+    }
+    if (type == float.class) {
+      return 0F;
+    }
+    if (type == char.class) {
+      return '\0';
+    }
+    if (type == byte.class) {
+      return (byte) 0;
+    }
+    return (type == short.class) ? (Object) (short) 0 : (Object) 0;
+  }
+
+  /**
+   * A player whose world can be changed by the test.
+   *
+   * @since 0.0.1
+   */
+  private static final class TestPlayer {
+    private final UUID uniqueId;
+    private final AtomicReference<String> world;
+    private final Player proxy;
+
+    TestPlayer(final @NotNull UUID uniqueId, final @NotNull String world) {
+      this.uniqueId = uniqueId;
+      this.world = new AtomicReference<>(world);
+      this.proxy = stub(Player.class, Map.of(
+          "getUniqueId", uniqueId,
+          "getWorld", (Supplier<World>) () -> stub(World.class, Map.of("getName", this.world.get()))));
+    }
+  }
+
+  /**
+   * An updater that establishes a new content for the visible
+   * scoreboards on every frame, and for the invalidated ones on
+   * every flush, as the plugin updaters do.
+   *
+   * @since 0.0.1
+   */
+  private static final class TestUpdater extends CustomExecutorThreadModel {
+    private final ExecutorBackend executorBackend;
+    private final Queue<Throwable> failures;
+    private final AtomicLong frames;
+
+    TestUpdater(final @NotNull ScoreboardModelRepository scoreboardRepository, final @NotNull ExecutorBackend executorBackend,
+                final @NotNull Queue<Throwable> failures) {
+      super(scoreboardRepository);
+      this.executorBackend = executorBackend;
+      this.failures = failures;
+      this.frames = new AtomicLong();
+    }
+
+    /**
+     * Records the failures of the given work, as the backend
+     * only prints them.
+     *
+     * @param work the work for each scoreboard.
+     * @return The guarded work.
+     * @since 0.0.1
+     */
+    private @NotNull Consumer<CachedScoreboardModel> guarded(final @NotNull Consumer<CachedScoreboardModel> work) {
+      return scoreboardModel -> {
+        try {
+          work.accept(scoreboardModel);
+        } catch (final Throwable throwable) {
+          this.failures.add(throwable);
+        }
+      };
+    }
+
+    void frame() {
+      this.flush();
+      this.run();
+    }
+
+    @Override
+    public void run() {
+      final var frame = this.frames.incrementAndGet();
+      this.executorBackend.execute(super.currentSliceScoreboards(), this.guarded(scoreboardModel -> {
+        for (int lineIndex = 0; lineIndex < LINES; lineIndex++) {
+          scoreboardModel.updateLine(lineIndex, Component.text(frame % (lineIndex + 2)));
+        }
+        scoreboardModel.updateTitle(Component.text(frame % 3));
+      }));
+      // The world buckets are dispatched as on 'WORLD' mode.
+      final var world = WORLDS[(int) (frame % WORLDS.length)];
+      this.executorBackend.execute(super.scoreboardRepository.worldScoreboards(world), this.guarded(scoreboardModel ->
+          scoreboardModel.updateLine(0, Component.text(world))));
+    }
+
+    @Override
+    protected void flush() {
+      final var invalidatedScoreboards = new ArrayList<CachedScoreboardModel>();
+      CachedScoreboardModel invalidatedScoreboard;
+      while ((invalidatedScoreboard = super.scoreboardRepository.pollInvalidated()) != null) {
+        invalidatedScoreboards.add(invalidatedScoreboard);
+      }
+      this.executorBackend.execute(invalidatedScoreboards, this.guarded(scoreboardModel -> {
+        if (scoreboardModel.drainInvalidatedKeys().contains(LINE_KEY)) {
+          scoreboardModel.updateLine(LINES - 1, Component.text("flushed"));
+        }
+      }));
+    }
+  }
+}
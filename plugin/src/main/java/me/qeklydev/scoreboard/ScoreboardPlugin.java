@@ -17,15 +17,27 @@
  */
 package me.qeklydev.scoreboard;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.qeklydev.scoreboard.component.CompiledContentTable;
 import me.qeklydev.scoreboard.config.Configuration;
 import me.qeklydev.scoreboard.config.ConfigurationProvider;
 import me.qeklydev.scoreboard.config.Messages;
 import me.qeklydev.scoreboard.listener.ScoreboardListener;
 import me.qeklydev.scoreboard.manager.ScoreboardManager;
+import me.qeklydev.scoreboard.placeholder.PlaceholderCache;
+import me.qeklydev.scoreboard.placeholder.PlaceholderGuard;
+import me.qeklydev.scoreboard.placeholder.PlaceholderRenderer;
 import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
+import me.qeklydev.scoreboard.snapshot.PlayerSnapshotTask;
+import me.qeklydev.scoreboard.thread.AdaptiveRefreshController;
+import me.qeklydev.scoreboard.thread.backend.ExecutorBackend;
+import me.qeklydev.scoreboard.thread.backend.PartitionedExecutorBackend;
+import me.qeklydev.scoreboard.thread.backend.RegionizedExecutorBackend;
+import me.qeklydev.scoreboard.thread.backend.SerialExecutorBackend;
+import me.qeklydev.scoreboard.thread.backend.VirtualThreadExecutorBackend;
 import me.qeklydev.scoreboard.thread.impl.ScoreboardUpdaterThreadModelImpl;
 import me.qeklydev.scoreboard.thread.impl.TitleUpdaterThreadModelImpl;
-import me.qeklydev.scoreboard.component.ComponentUtils;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
@@ -36,8 +48,13 @@ public final class ScoreboardPlugin extends JavaPlugin implements ApiModel {
   private ConfigurationProvider<Configuration> configProvider;
   private ConfigurationProvider<Messages> messagesProvider;
   private ScoreboardModelRepository scoreboardRepository;
+  private ExecutorBackend executorBackend;
+  private ExecutorBackend titleExecutorBackend;
+  private PlaceholderRenderer placeholderRenderer;
   private ScoreboardUpdaterThreadModelImpl scoreboardUpdaterThreadModel;
   private TitleUpdaterThreadModelImpl titleUpdaterThreadModel;
+  private AdaptiveRefreshController adaptiveRefreshController;
+  private PlayerSnapshotTask playerSnapshotTask;
   private ScoreboardManager scoreboardManager;
 
   @Override
@@ -56,6 +73,34 @@ public final class ScoreboardPlugin extends JavaPlugin implements ApiModel {
     return this.scoreboardManager;
   }
 
+  /**
+   * Returns the adaptive refresh controller, used to
+   * show its decisions.
+   *
+   * @return The {@link AdaptiveRefreshController}.
+   * @since 0.0.1
+   */
+  public @NotNull AdaptiveRefreshController adaptiveRefreshController() {
+    if (this.adaptiveRefreshController == null) {
+      throw new IllegalStateException("The adaptive refresh controller reference is not initialized.");
+    }
+    return this.adaptiveRefreshController;
+  }
+
+  /**
+   * Returns the placeholder renderer, used to show the
+   * state of the expansions.
+   *
+   * @return The {@link PlaceholderRenderer}.
+   * @since 0.0.1
+   */
+  public @NotNull PlaceholderRenderer placeholderRenderer() {
+    if (this.placeholderRenderer == null) {
+      throw new IllegalStateException("The placeholder renderer reference is not initialized.");
+    }
+    return this.placeholderRenderer;
+  }
+
   @Override
   public void onLoad() {
     final var directory = super.getDataFolder().toPath();
@@ -69,10 +114,60 @@ public final class ScoreboardPlugin extends JavaPlugin implements ApiModel {
     }
     this.scoreboardRepository = new ScoreboardModelRepository();
     this.scoreboardManager = new ScoreboardManager(this.logger, this.scoreboardRepository, this.configProvider);
-    this.scoreboardUpdaterThreadModel = new ScoreboardUpdaterThreadModelImpl(
-        this.scoreboardRepository, this.configProvider, this.logger);
+    // The content is deserialized once here, and only will be
+    // compiled again during reload.
+    final var contentTable = CompiledContentTable.of(this.configProvider.get());
+    // Every updater uses its own backend, so the work still in progress
+    // for a scoreboard on one of them never skips the other one.
+    this.executorBackend = this.createExecutorBackend(this.configProvider.get(), true);
+    this.titleExecutorBackend = this.createExecutorBackend(this.configProvider.get(), false);
+    final var placeholderGuard = new PlaceholderGuard();
+    this.placeholderGuardLimits(this.configProvider.get(), placeholderGuard);
+    this.placeholderRenderer = new PlaceholderRenderer(new PlaceholderCache(this.configProvider.get().placeholderCacheTtl), placeholderGuard);
+    this.scoreboardUpdaterThreadModel = new ScoreboardUpdaterThreadModelImpl(this.scoreboardRepository, this.configProvider,
+        contentTable, this.executorBackend, this.placeholderRenderer, this.logger);
     this.titleUpdaterThreadModel = new TitleUpdaterThreadModelImpl(
-        this.scoreboardRepository, ComponentUtils.ofMany(this.configProvider.get().titleContent));
+        this.scoreboardRepository, List.of(contentTable.title()), this.titleExecutorBackend, this.placeholderRenderer);
+    this.playerSnapshotTask = new PlayerSnapshotTask(this, this.scoreboardRepository);
+    this.playerSnapshotTask.snapshotFields(contentTable.snapshotFields());
+    this.adaptiveRefreshController = new AdaptiveRefreshController(this.scoreboardRepository, this.configProvider,
+        List.of(this.scoreboardUpdaterThreadModel, this.titleUpdaterThreadModel));
+  }
+
+  /**
+   * Creates the backend used by the updaters to execute the
+   * work of every scoreboard.
+   *
+   * @param config the configuration model.
+   * @param notify whether the selected backend is logged.
+   * @return The {@link ExecutorBackend}.
+   * @since 0.0.1
+   */
+  private @NotNull ExecutorBackend createExecutorBackend(final @NotNull Configuration config, final boolean notify) {
+    // On Folia every player must be updated by the thread of its region.
+    if (RegionizedExecutorBackend.regionized()) {
+      if (notify) {
+        this.logger.info("Detected regionised server, the scoreboards will be updated on the region threads.");
+      }
+      return new RegionizedExecutorBackend(this);
+    }
+    if (config.useVirtualThreads) {
+      final var virtualThreadBackend = VirtualThreadExecutorBackend.create();
+      if (virtualThreadBackend != null) {
+        if (notify) {
+          this.logger.info("The scoreboards will be updated on virtual threads.");
+        }
+        return virtualThreadBackend;
+      }
+      if (notify) {
+        this.logger.warn("Virtual threads are not available on this Java version, ignoring 'use-virtual-threads' option.");
+      }
+    }
+    // Otherwise the lines are rendered in parallel partitions only if it
+    // was configured, or on the updater thread itself.
+    return (config.updaterParallelism > 1)
+        ? new PartitionedExecutorBackend(config.updaterParallelism)
+        : new SerialExecutorBackend();
   }
 
   @Override
@@ -88,18 +183,71 @@ public final class ScoreboardPlugin extends JavaPlugin implements ApiModel {
     if (!this.scoreboardManager.load(this)) {
       return;
     }
-    super.getServer().getPluginManager().registerEvents(new ScoreboardListener(this.scoreboardManager, this.logger), this);
+    // The placeholder plugins are already enabled at this point,
+    // as they are declared as dependencies.
+    this.placeholderRenderer.load(super.getServer().getPluginManager(), this.logger);
+    super.getServer().getPluginManager().registerEvents(new ScoreboardListener(
+        this.scoreboardManager, this.scoreboardRepository, this.placeholderRenderer.cache(), this.playerSnapshotTask, this.logger), this);
+    // The player fields referenced by the content are captured on the
+    // main thread, before the async updaters render them.
+    this.playerSnapshotTask.start();
     final var config = this.configProvider.get();
     // Define update-rate values for the scoreboard content and title
     // updater executors.
-    this.scoreboardUpdaterThreadModel.periodRate(config.scoreboardFrameUpdateRate);
+    this.updaterPeriod(config, this.scoreboardUpdaterThreadModel.contentTable());
     this.scoreboardManager.scheduleWithProvidedExecutor(this.scoreboardUpdaterThreadModel);
+    this.scoreboardManager.invalidationExecutorModel(this.scoreboardUpdaterThreadModel);
     // If animated-title option is enabled, set period-rate for the
     // title-updater and start it.
     if (config.useScoreboardAnimatedTitle) {
-      this.titleUpdaterThreadModel.periodRate(config.scoreboardTitleUpdateRate);
+      this.titleUpdaterThreadModel.periodMillis(titleUpdateRateMillis(config));
       this.scoreboardManager.scheduleWithProvidedExecutor(this.titleUpdaterThreadModel);
     }
+    // The server load is sampled every second, the controller is always
+    // scheduled, so it can be enabled during reload.
+    this.adaptiveRefreshController.periodRate(1);
+    this.scoreboardManager.scheduleWithProvidedExecutor(this.adaptiveRefreshController);
+  }
+
+  /**
+   * Establish the period for the lines updater, the frame update-rate,
+   * or the shortest refresh interval declared by a line if it's lower.
+   *
+   * @param config the configuration model.
+   * @param contentTable the compiled content table.
+   * @since 0.0.1
+   */
+  private void updaterPeriod(final @NotNull Configuration config, final @NotNull CompiledContentTable contentTable) {
+    final var frameMillis = TimeUnit.SECONDS.toMillis(config.scoreboardFrameUpdateRate);
+    final var minRefreshMillis = contentTable.minRefreshMillis();
+    this.scoreboardUpdaterThreadModel.periodMillis((minRefreshMillis > 0) ? Math.min(frameMillis, minRefreshMillis) : frameMillis);
+    this.scoreboardUpdaterThreadModel.slices(config.scoreboardFrameSlices);
+  }
+
+  /**
+   * Returns the title update-rate in milliseconds, the seconds
+   * option is used if the milliseconds one is not configured.
+   *
+   * @param config the configuration model.
+   * @return The title update-rate in milliseconds.
+   * @since 0.0.1
+   */
+  private static long titleUpdateRateMillis(final @NotNull Configuration config) {
+    return (config.scoreboardTitleUpdateRateMillis > 0)
+        ? config.scoreboardTitleUpdateRateMillis
+        : TimeUnit.SECONDS.toMillis(config.scoreboardTitleUpdateRate);
+  }
+
+  /**
+   * Establish the deadline and breaker limits used for the
+   * placeholder resolutions.
+   *
+   * @param config the configuration model.
+   * @param placeholderGuard the placeholder guard.
+   * @since 0.0.1
+   */
+  private void placeholderGuardLimits(final @NotNull Configuration config, final @NotNull PlaceholderGuard placeholderGuard) {
+    placeholderGuard.limits(config.placeholderTimeout, config.placeholderFailureThreshold, config.placeholderFailureCooldown);
   }
 
   /**
@@ -117,17 +265,27 @@ public final class ScoreboardPlugin extends JavaPlugin implements ApiModel {
     // Check if new provided values for update-rate for
     // scoreboard lines, and title-animation is zero, or
     // negative.
-    if (config.scoreboardTitleUpdateRate <= 0 || config.scoreboardFrameUpdateRate <= 0) {
+    if (titleUpdateRateMillis(config) <= 0 || config.scoreboardFrameUpdateRate <= 0) {
       return false;
     }
     // Check the scoreboard-mode, for cases where the case
     // are 'SINGLE' OR 'WORLD', we update the update-rate
     // values for the threads and, update the title content.
+    // The new rates are applied immediately, as the models are
+    // rescheduled on the timing wheel.
     return switch (config.scoreboardMode) {
       case "SINGLE", "WORLD" -> {
-        this.scoreboardUpdaterThreadModel.periodRate(config.scoreboardFrameUpdateRate);
-        this.titleUpdaterThreadModel.periodRate(config.scoreboardTitleUpdateRate);
-        this.titleUpdaterThreadModel.content(ComponentUtils.ofMany(config.titleContent));
+        final var contentTable = CompiledContentTable.of(config);
+        this.scoreboardUpdaterThreadModel.contentTable(contentTable);
+        this.playerSnapshotTask.snapshotFields(contentTable.snapshotFields());
+        this.updaterPeriod(config, contentTable);
+        this.titleUpdaterThreadModel.periodMillis(titleUpdateRateMillis(config));
+        this.titleUpdaterThreadModel.content(List.of(contentTable.title()));
+        // The values already cached are discarded, so the new TTL
+        // is used for all of them.
+        this.placeholderRenderer.cache().ttlMillis(config.placeholderCacheTtl);
+        this.placeholderRenderer.cache().clear();
+        this.placeholderGuardLimits(config, this.placeholderRenderer.guard());
         yield true;
       }
       // Scoreboard-mode defined isn't valid.
@@ -141,5 +299,16 @@ public final class ScoreboardPlugin extends JavaPlugin implements ApiModel {
     if (this.scoreboardManager != null) {
       this.scoreboardManager.shutdown();
     }
+    // The backend is shutdown after the executor models, as
+    // they could be still using it.
+    if (this.executorBackend != null) {
+      this.logger.info("Shutdown result for the executor backend is: {}", this.executorBackend.shutdown());
+    }
+    if (this.titleExecutorBackend != null) {
+      this.logger.info("Shutdown result for the title executor backend is: {}", this.titleExecutorBackend.shutdown());
+    }
+    if (this.placeholderRenderer != null) {
+      this.logger.info("Shutdown result for the placeholder resolutions is: {}", this.placeholderRenderer.guard().shutdown());
+    }
   }
 }
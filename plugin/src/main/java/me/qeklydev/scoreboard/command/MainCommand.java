@@ -27,6 +27,7 @@ import me.qeklydev.scoreboard.config.Configuration;
 import me.qeklydev.scoreboard.config.ConfigurationProvider;
 import me.qeklydev.scoreboard.config.Messages;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 
@@ -81,4 +82,46 @@ public final class MainCommand extends BaseCommand {
     }
     sender.sendMessage(ComponentUtils.ofSingleWith(messages.reloadSuccess, prefixResolver));
   }
+
+  @SubCommand("diagnostics")
+  @Requirement("diagnostics-perm")
+  public void diagnosticsExecutor(final @NotNull CommandSender sender) {
+    final var controller = this.plugin.adaptiveRefreshController();
+    final var resolvers = new TagResolver[] {
+        Placeholder.parsed("prefix", this.configProvider.get().prefix),
+        Placeholder.unparsed("level", Byte.toString(controller.level())),
+        Placeholder.unparsed("multiplier", Integer.toString(controller.multiplier())),
+        Placeholder.unparsed("mspt", String.format("%.2f", controller.lastMspt())),
+        Placeholder.unparsed("backoffs", Long.toString(controller.backoffs())),
+        Placeholder.unparsed("recoveries", Long.toString(controller.recoveries()))
+    };
+    final var messages = this.messagesProvider.get();
+    for (final var line : messages.diagnostics) {
+      sender.sendMessage(ComponentUtils.ofSingleWith(line, resolvers));
+    }
+    // Timing of every scheduled executor model.
+    for (final var executorModel : this.plugin.scoreboardManager().executorModels()) {
+      sender.sendMessage(ComponentUtils.ofSingleWith(messages.diagnosticsExecutor,
+          Placeholder.unparsed("model", executorModel.getClass().getSimpleName()),
+          Placeholder.unparsed("executions", Long.toString(executorModel.executions())),
+          Placeholder.unparsed("overruns", Long.toString(executorModel.overruns())),
+          Placeholder.unparsed("skipped", Long.toString(executorModel.skippedFrames())),
+          Placeholder.unparsed("last", millis(executorModel.lastRunNanos())),
+          Placeholder.unparsed("max", millis(executorModel.maxRunNanos())),
+          Placeholder.unparsed("overrun", millis(executorModel.totalOverrunNanos()))));
+    }
+    // State of the breaker of every expansion resolved.
+    for (final var breaker : this.plugin.placeholderRenderer().guard().breakers()) {
+      sender.sendMessage(ComponentUtils.ofSingleWith(messages.diagnosticsExpansion,
+          Placeholder.unparsed("expansion", breaker.expansion()),
+          Placeholder.unparsed("state", breaker.state().name()),
+          Placeholder.unparsed("failures", Long.toString(breaker.failures())),
+          Placeholder.unparsed("trips", Long.toString(breaker.trips())),
+          Placeholder.unparsed("rejections", Long.toString(breaker.rejections()))));
+    }
+  }
+
+  private static @NotNull String millis(final long nanos) {
+    return String.format("%.2fms", nanos / 1_000_000.0);
+  }
 }
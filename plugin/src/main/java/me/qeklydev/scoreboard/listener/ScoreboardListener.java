@@ -18,31 +18,54 @@
 package me.qeklydev.scoreboard.listener;
 
 import me.qeklydev.scoreboard.manager.ScoreboardManager;
+import me.qeklydev.scoreboard.placeholder.PlaceholderCache;
+import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
+import me.qeklydev.scoreboard.snapshot.PlayerSnapshotTask;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.jetbrains.annotations.NotNull;
 
 public final class ScoreboardListener implements Listener {
   private final ScoreboardManager scoreboardManager;
+  private final ScoreboardModelRepository scoreboardRepository;
+  private final PlaceholderCache placeholderCache;
+  private final PlayerSnapshotTask playerSnapshotTask;
   private final ComponentLogger logger;
 
-  public ScoreboardListener(final @NotNull ScoreboardManager scoreboardManager, final @NotNull ComponentLogger logger) {
+  public ScoreboardListener(final @NotNull ScoreboardManager scoreboardManager, final @NotNull ScoreboardModelRepository scoreboardRepository,
+                            final @NotNull PlaceholderCache placeholderCache, final @NotNull PlayerSnapshotTask playerSnapshotTask,
+                            final @NotNull ComponentLogger logger) {
     this.scoreboardManager = scoreboardManager;
+    this.scoreboardRepository = scoreboardRepository;
+    this.placeholderCache = placeholderCache;
+    this.playerSnapshotTask = playerSnapshotTask;
     this.logger = logger;
   }
 
   @EventHandler
   void onJoin(final @NotNull PlayerJoinEvent event) {
-    this.scoreboardManager.create(event.getPlayer());
+    final var player = event.getPlayer();
+    this.scoreboardManager.create(player);
+    // The first snapshot is captured before any render, the event
+    // is called by the thread that owns the player.
+    final var scoreboardModel = this.scoreboardRepository.findOrNull(player.getUniqueId());
+    if (scoreboardModel != null) {
+      this.playerSnapshotTask.track(scoreboardModel);
+    }
   }
 
   @EventHandler
   void onQuit(final @NotNull PlayerQuitEvent event) {
     final var player = event.getPlayer();
     final var couldBeClosed = this.scoreboardManager.delete(player);
+    this.placeholderCache.invalidate(player.getUniqueId());
     /*
      * If scoreboard could not be deleted correctly due
      * to any reason, notify this as a warn log.
@@ -51,4 +74,30 @@ public final class ScoreboardListener implements Listener {
       this.logger.warn("The scoreboard for player '{}' could not be deleted, maybe already was deleted before.", player.getName());
     }
   }
+
+  @EventHandler
+  void onLocaleChange(final @NotNull PlayerLocaleChangeEvent event) {
+    // The static lines were sent translated for the previous locale,
+    // the new one is captured as the player still has the previous.
+    final var scoreboardModel = this.scoreboardRepository.findOrNull(event.getPlayer().getUniqueId());
+    if (scoreboardModel != null) {
+      this.playerSnapshotTask.localeChanged(scoreboardModel, event.locale());
+      scoreboardModel.markStaticContentOutdated();
+    }
+  }
+
+  @EventHandler
+  void onWorldChange(final @NotNull PlayerChangedWorldEvent event) {
+    this.scoreboardRepository.changeWorld(event.getPlayer());
+  }
+
+  @EventHandler
+  void onWorldLoad(final @NotNull WorldLoadEvent event) {
+    this.scoreboardRepository.loadWorld(event.getWorld().getName());
+  }
+
+  @EventHandler
+  void onWorldUnload(final @NotNull WorldUnloadEvent event) {
+    this.scoreboardRepository.unloadWorld(event.getWorld().getName());
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import me.qeklydev.scoreboard.component.CompiledLine;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.ParsingException;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This resolver caches the tags resolved by the delegated
+ * resolver in a {@link PlaceholderCache}, keyed by the tag
+ * name and their arguments, the tags are resolved through
+ * the {@link PlaceholderGuard}.
+ *
+ * @since 0.0.1
+ */
+final class CachingTagResolver implements TagResolver {
+  private final TagResolver delegate;
+  private final PlaceholderCache cache;
+  private final PlaceholderGuard guard;
+  private final UUID owner;
+
+  CachingTagResolver(final @NotNull TagResolver delegate, final @NotNull PlaceholderCache cache,
+                     final @NotNull PlaceholderGuard guard, final @NotNull UUID owner) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.guard = guard;
+    this.owner = owner;
+  }
+
+  @Override
+  public @Nullable Tag resolve(final @NotNull String name, final @NotNull ArgumentQueue arguments,
+                               final @NotNull Context ctx) throws ParsingException {
+    if (!this.delegate.has(name)) {
+      return null;
+    }
+    // The key is built from the parsed values, so the quoting of
+    // the arguments doesn't create different entries.
+    final var values = new ArrayList<String>();
+    while (arguments.hasNext()) {
+      values.add(arguments.pop().value());
+    }
+    final var cacheKey = CompiledLine.tagKey(name, values);
+    // The guard thread could keep resolving after the deadline, while
+    // the parse continues with the fallback and the queue is reused, so
+    // the delegated resolver consumes an immutable copy of the values.
+    final var argumentValues = List.copyOf(values);
+    return this.cache.get(this.owner, cacheKey, () -> this.guard.resolve(PlaceholderGuard.expansionOf(name),
+        () -> this.delegate.resolve(name, new ArgumentValues(argumentValues, ctx), ctx),
+        this.cache.lastKnown(this.owner, cacheKey)));
+  }
+
+  @Override
+  public boolean has(final @NotNull String name) {
+    return this.delegate.has(name);
+  }
+
+  /**
+   * An argument queue over a copy of the argument values, owned
+   * by the thread that resolves the tag.
+   *
+   * @since 0.0.1
+   */
+  private static final class ArgumentValues implements ArgumentQueue {
+    private final List<String> values;
+    private final Context ctx;
+    private int index;
+
+    ArgumentValues(final @NotNull List<@NotNull String> values, final @NotNull Context ctx) {
+      this.values = values;
+      this.ctx = ctx;
+    }
+
+    @Override
+    public @NotNull Tag.Argument pop() {
+      return this.popOr("Missing argument");
+    }
+
+    @Override
+    public @NotNull Tag.Argument popOr(final @NotNull String errorMessage) {
+      if (!this.hasNext()) {
+        throw this.ctx.newException(errorMessage, this);
+      }
+      final var value = this.values.get(this.index++);
+      return () -> value;
+    }
+
+    @Override
+    public @NotNull Tag.Argument popOr(final @NotNull Supplier<String> errorMessage) {
+      return this.hasNext() ? this.pop() : this.popOr(errorMessage.get());
+    }
+
+    @Override
+    public @Nullable Tag.Argument peek() {
+      if (!this.hasNext()) {
+        return null;
+      }
+      final var value = this.values.get(this.index);
+      return () -> value;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.index < this.values.size();
+    }
+
+    @Override
+    public void reset() {
+      this.index = 0;
+    }
+  }
+}
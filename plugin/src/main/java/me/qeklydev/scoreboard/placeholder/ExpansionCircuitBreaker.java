@@ -0,0 +1,163 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a circuit breaker for a single placeholder
+ * expansion, after several consecutive failed resolutions it
+ * trips, and the expansion is not called until the cooldown
+ * has elapsed, then a single trial resolution is allowed.
+ *
+ * @since 0.0.1
+ */
+public final class ExpansionCircuitBreaker {
+  private final String expansion;
+  private State state;
+  private int consecutiveFailures;
+  private long openedAtNanos;
+  private long failures;
+  private long trips;
+  private long rejections;
+
+  ExpansionCircuitBreaker(final @NotNull String expansion) {
+    this.expansion = expansion;
+    this.state = State.CLOSED;
+  }
+
+  /**
+   * Checks whether a resolution can be executed, an open
+   * breaker becomes half-open once the cooldown has elapsed.
+   *
+   * @param nowNanos the current time in nanoseconds.
+   * @param cooldownNanos the cooldown in nanoseconds.
+   * @return Whether the resolution can be executed.
+   * @since 0.0.1
+   */
+  synchronized boolean allow(final long nowNanos, final long cooldownNanos) {
+    switch (this.state) {
+      case CLOSED -> {
+        return true;
+      }
+      case OPEN -> {
+        if (nowNanos - this.openedAtNanos >= cooldownNanos) {
+          // A single trial resolution decides whether it closes again.
+          this.state = State.HALF_OPEN;
+          return true;
+        }
+      }
+      default -> {}
+    }
+    this.rejections++;
+    return false;
+  }
+
+  /**
+   * Records a successful resolution, closing the breaker.
+   *
+   * @since 0.0.1
+   */
+  synchronized void success() {
+    this.consecutiveFailures = 0;
+    this.state = State.CLOSED;
+  }
+
+  /**
+   * Records a failed resolution, the breaker trips if the
+   * threshold is reached, or if it was the trial resolution.
+   *
+   * @param nowNanos the current time in nanoseconds.
+   * @param failureThreshold the consecutive failures to trip.
+   * @since 0.0.1
+   */
+  synchronized void failure(final long nowNanos, final int failureThreshold) {
+    this.failures++;
+    this.consecutiveFailures++;
+    if (this.state == State.HALF_OPEN || this.consecutiveFailures >= failureThreshold) {
+      if (this.state != State.OPEN) {
+        this.trips++;
+      }
+      this.state = State.OPEN;
+      this.openedAtNanos = nowNanos;
+    }
+  }
+
+  /**
+   * Returns the expansion of this breaker.
+   *
+   * @return The expansion name.
+   * @since 0.0.1
+   */
+  public @NotNull String expansion() {
+    return this.expansion;
+  }
+
+  /**
+   * Returns the current state of this breaker.
+   *
+   * @return The {@link State}.
+   * @since 0.0.1
+   */
+  public synchronized @NotNull State state() {
+    return this.state;
+  }
+
+  /**
+   * Returns the amount of failed resolutions, timeouts,
+   * exceptions, or resolutions rejected by the full executor.
+   *
+   * @return The amount of failures.
+   * @since 0.0.1
+   */
+  public synchronized long failures() {
+    return this.failures;
+  }
+
+  /**
+   * Returns the amount of times this breaker has tripped.
+   *
+   * @return The amount of trips.
+   * @since 0.0.1
+   */
+  public synchronized long trips() {
+    return this.trips;
+  }
+
+  /**
+   * Returns the amount of resolutions rejected while this
+   * breaker was open.
+   *
+   * @return The amount of rejections.
+   * @since 0.0.1
+   */
+  public synchronized long rejections() {
+    return this.rejections;
+  }
+
+  /**
+   * The states of a circuit breaker.
+   *
+   * @since 0.0.1
+   */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import io.github.miniplaceholders.api.MiniPlaceholders;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class isolates the MiniPlaceholders usage, so their classes
+ * are only loaded if the plugin is present.
+ *
+ * @since 0.0.1
+ */
+final class MiniPlaceholdersHook {
+  private MiniPlaceholdersHook() {
+    throw new UnsupportedOperationException("This class is for utility and cannot be instantiated.");
+  }
+
+  /**
+   * Returns the resolver with the placeholders for the player.
+   *
+   * @param player the player, or {@code null} for global placeholders.
+   * @return The {@link TagResolver}.
+   * @since 0.0.1
+   */
+  static @NotNull TagResolver resolver(final @Nullable Player player) {
+    return (player == null)
+        ? MiniPlaceholders.getGlobalPlaceholders()
+        : MiniPlaceholders.getAudienceGlobalPlaceholders(player);
+  }
+}
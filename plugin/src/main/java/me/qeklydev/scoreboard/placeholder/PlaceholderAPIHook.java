@@ -0,0 +1,57 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class isolates the PlaceholderAPI usage, so their classes
+ * are only loaded if the plugin is present.
+ *
+ * @since 0.0.1
+ */
+final class PlaceholderAPIHook {
+  private PlaceholderAPIHook() {
+    throw new UnsupportedOperationException("This class is for utility and cannot be instantiated.");
+  }
+
+  /**
+   * Resolves the given placeholder for the player, and converts
+   * the legacy colors of the value to MiniMessage format. A plain
+   * value has their tags escaped, so a player-controlled value
+   * never injects tags into the line.
+   *
+   * @param player the player, or {@code null} for global placeholders.
+   * @param placeholder the placeholder, including the '%' characters.
+   * @return The resolved value.
+   * @since 0.0.1
+   */
+  static @NotNull String resolve(final @Nullable Player player, final @NotNull String placeholder) {
+    final var value = PlaceholderAPI.setPlaceholders(player, placeholder);
+    if (value.indexOf(LegacyComponentSerializer.SECTION_CHAR) < 0) {
+      return MiniMessage.miniMessage().escapeTags(value);
+    }
+    // The serializer escapes the tags of the text content itself.
+    return MiniMessage.miniMessage().serialize(LegacyComponentSerializer.legacySection().deserialize(value));
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class caches the resolved value of every placeholder,
+ * per player, during a configurable time-to-live, so expensive
+ * placeholders are resolved at most once per TTL.
+ *
+ * @since 0.0.1
+ */
+public final class PlaceholderCache {
+  /**
+   * The owner used for the placeholders resolved without
+   * a player.
+   *
+   * @since 0.0.1
+   */
+  public static final UUID GLOBAL_OWNER = new UUID(0L, 0L);
+  private static final Object NULL_VALUE = new Object();
+  private final Map<UUID, Map<String, Entry>> values;
+  private volatile long ttlNanos;
+
+  public PlaceholderCache(final long ttlMillis) {
+    this.values = new ConcurrentHashMap<>();
+    this.ttlMillis(ttlMillis);
+  }
+
+  /**
+   * Sets a new time-to-live for the cached values, the values
+   * already cached keep their previous expiration.
+   *
+   * @param ttlMillis the new time-to-live in milliseconds, zero
+   *                  or negative disables the cache.
+   * @since 0.0.1
+   */
+  public void ttlMillis(final long ttlMillis) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+  }
+
+  /**
+   * Returns the cached value for the given placeholder, or
+   * resolves it if it's not cached or already has expired.
+   *
+   * @param owner the owner of the value.
+   * @param placeholder the placeholder used as key.
+   * @param resolver the resolver for the placeholder value.
+   * @param <T> the type of the value.
+   * @return The placeholder value.
+   * @since 0.0.1
+   */
+  @SuppressWarnings("unchecked")
+  public <T> @Nullable T get(final @NotNull UUID owner, final @NotNull String placeholder, final @NotNull Supplier<@Nullable T> resolver) {
+    final var ttlNanos = this.ttlNanos;
+    if (ttlNanos <= 0) {
+      return resolver.get();
+    }
+    final var ownerValues = this.values.computeIfAbsent(owner, key -> new ConcurrentHashMap<>());
+    final var now = System.nanoTime();
+    final var entry = ownerValues.get(placeholder);
+    if (entry != null && now - entry.expiresAtNanos < 0) {
+      return (entry.value == NULL_VALUE) ? null : (T) entry.value;
+    }
+    // Concurrent misses could resolve the value more than once,
+    // that is cheaper than blocking the other players.
+    final var value = resolver.get();
+    ownerValues.put(placeholder, new Entry((value == null) ? NULL_VALUE : value, now + ttlNanos));
+    return value;
+  }
+
+  /**
+   * Returns the live cache entry for the given placeholder, it
+   * is only used to compare its identity, a same entry means that
+   * the value has not been resolved again.
+   *
+   * @param owner the owner of the value.
+   * @param placeholder the placeholder used as key.
+   * @return The live entry, or {@code null} if it's not cached
+   *     or already has expired.
+   * @since 0.0.1
+   */
+  public @Nullable Object entry(final @NotNull UUID owner, final @NotNull String placeholder) {
+    final var ownerValues = this.values.get(owner);
+    if (ownerValues == null) {
+      return null;
+    }
+    final var entry = ownerValues.get(placeholder);
+    return (entry != null && System.nanoTime() - entry.expiresAtNanos < 0) ? entry : null;
+  }
+
+  /**
+   * Returns the last value resolved for the given placeholder,
+   * even if it already has expired.
+   *
+   * @param owner the owner of the value.
+   * @param placeholder the placeholder used as key.
+   * @param <T> the type of the value.
+   * @return The last known value, or {@code null} if it was
+   *     never resolved or has been invalidated.
+   * @since 0.0.1
+   */
+  @SuppressWarnings("unchecked")
+  public <T> @Nullable T lastKnown(final @NotNull UUID owner, final @NotNull String placeholder) {
+    final var ownerValues = this.values.get(owner);
+    if (ownerValues == null) {
+      return null;
+    }
+    final var entry = ownerValues.get(placeholder);
+    return (entry == null || entry.value == NULL_VALUE) ? null : (T) entry.value;
+  }
+
+  /**
+   * Removes the cached value of the given placeholder for
+   * the owner.
+   *
+   * @param owner the owner of the value.
+   * @param placeholder the placeholder used as key.
+   * @since 0.0.1
+   */
+  public void invalidate(final @NotNull UUID owner, final @NotNull String placeholder) {
+    final var ownerValues = this.values.get(owner);
+    if (ownerValues != null) {
+      ownerValues.remove(placeholder);
+    }
+  }
+
+  /**
+   * Removes every cached value for the given owner.
+   *
+   * @param owner the owner of the values.
+   * @since 0.0.1
+   */
+  public void invalidate(final @NotNull UUID owner) {
+    this.values.remove(owner);
+  }
+
+  /**
+   * Removes every cached value.
+   *
+   * @since 0.0.1
+   */
+  public void clear() {
+    this.values.clear();
+  }
+
+  private record Entry(@NotNull Object value, long expiresAtNanos) {}
+}
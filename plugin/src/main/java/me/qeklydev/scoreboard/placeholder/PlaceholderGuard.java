@@ -0,0 +1,179 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import me.qeklydev.scoreboard.thread.result.ExecutorThreadShutdownResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class executes the placeholder resolutions under a deadline,
+ * so a slow expansion never stalls the frame for every player, and
+ * isolates every expansion with an {@link ExpansionCircuitBreaker}.
+ * <p>
+ * When a resolution times out, fails, or is rejected by the breaker,
+ * the last known value is used instead.
+ *
+ * @since 0.0.1
+ */
+public final class PlaceholderGuard {
+  private static final int MAX_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+  private static final int MAX_QUEUED_RESOLUTIONS = 256;
+  private final Map<String, ExpansionCircuitBreaker> breakers;
+  private final ThreadPoolExecutor executorService;
+  private volatile long timeoutNanos;
+  private volatile int failureThreshold;
+  private volatile long cooldownNanos;
+
+  public PlaceholderGuard() {
+    this.breakers = new ConcurrentHashMap<>();
+    final var threadCount = new AtomicInteger();
+    // Both the threads and the queue are bounded, so a hung expansion
+    // never creates a thread per resolution, once they are full the
+    // resolutions are rejected and use the last known value.
+    this.executorService = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(MAX_QUEUED_RESOLUTIONS), r -> {
+          final var thread = new Thread(r, "ScoreboardPlaceholderExecutor-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    this.executorService.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Establishes the limits used for the resolutions.
+   *
+   * @param timeoutMillis the deadline for every resolution in
+   *                      milliseconds, zero or negative resolves
+   *                      them without any deadline.
+   * @param failureThreshold the consecutive failures to trip a breaker.
+   * @param cooldownMillis the time that a breaker stays open.
+   * @since 0.0.1
+   */
+  public void limits(final long timeoutMillis, final int failureThreshold, final long cooldownMillis) {
+    this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+    this.failureThreshold = Math.max(1, failureThreshold);
+    this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cooldownMillis));
+  }
+
+  /**
+   * Returns the expansion that provides the given placeholder, the
+   * text before the first '_', without the '%' or '&lt;' characters.
+   *
+   * @param placeholder the placeholder or tag.
+   * @return The expansion name.
+   * @since 0.0.1
+   */
+  public static @NotNull String expansionOf(final @NotNull String placeholder) {
+    final var start = (placeholder.startsWith("%") || placeholder.startsWith("<")) ? 1 : 0;
+    var end = placeholder.indexOf('_', start);
+    if (end < 0) {
+      end = placeholder.length();
+      if (end > start && (placeholder.endsWith("%") || placeholder.endsWith(">"))) {
+        end--;
+      }
+    }
+    return placeholder.substring(start, Math.max(start, end));
+  }
+
+  /**
+   * Resolves a placeholder value under the configured deadline.
+   *
+   * @param expansion the expansion that provides the placeholder.
+   * @param resolver the resolver for the placeholder value.
+   * @param fallback the last known value.
+   * @param <T> the type of the value.
+   * @return The resolved value, or the fallback if the resolution
+   *     failed or was rejected.
+   * @since 0.0.1
+   */
+  public <T> @Nullable T resolve(final @NotNull String expansion, final @NotNull Supplier<@Nullable T> resolver,
+                                 final @Nullable T fallback) {
+    final var timeoutNanos = this.timeoutNanos;
+    if (timeoutNanos <= 0) {
+      return resolver.get();
+    }
+    final var breaker = this.breakers.computeIfAbsent(expansion, ExpansionCircuitBreaker::new);
+    if (!breaker.allow(System.nanoTime(), this.cooldownNanos)) {
+      return fallback;
+    }
+    final Future<T> future;
+    try {
+      future = this.executorService.submit(resolver::get);
+    } catch (final RejectedExecutionException exception) {
+      // Every thread and queued slot is taken, the expansion is counted
+      // as failing, as it is probably the one blocking them.
+      breaker.failure(System.nanoTime(), this.failureThreshold);
+      return fallback;
+    }
+    try {
+      final var value = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+      breaker.success();
+      return value;
+    } catch (final TimeoutException | ExecutionException exception) {
+      // The timed out resolution is interrupted, so their thread is
+      // released as soon as the expansion reacts to it.
+      future.cancel(true);
+      breaker.failure(System.nanoTime(), this.failureThreshold);
+      return fallback;
+    } catch (final InterruptedException exception) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      return fallback;
+    }
+  }
+
+  /**
+   * Returns the breakers of every expansion resolved.
+   *
+   * @return An unmodifiable view of the {@link ExpansionCircuitBreaker}s.
+   * @since 0.0.1
+   */
+  public @NotNull Collection<@NotNull ExpansionCircuitBreaker> breakers() {
+    return Collections.unmodifiableCollection(this.breakers.values());
+  }
+
+  /**
+   * Shutdowns the threads used for the resolutions.
+   *
+   * @return The {@link ExecutorThreadShutdownResult} for
+   *     this operation.
+   * @since 0.0.1
+   */
+  public @NotNull ExecutorThreadShutdownResult shutdown() {
+    if (this.executorService.isShutdown()) {
+      return ExecutorThreadShutdownResult.withAlreadyShutdown();
+    }
+    // The pending resolutions are discarded, they could be blocked.
+    this.executorService.shutdownNow();
+    return ExecutorThreadShutdownResult.withShutdownImmediate();
+  }
+}
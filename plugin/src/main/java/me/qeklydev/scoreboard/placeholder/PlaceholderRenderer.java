@@ -0,0 +1,288 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import java.util.UUID;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.component.CompiledLine;
+import me.qeklydev.scoreboard.component.ComponentUtils;
+import me.qeklydev.scoreboard.snapshot.PlayerSnapshot;
+import me.qeklydev.scoreboard.snapshot.SnapshotField;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class renders the placeholders of the compiled lines for
+ * every player, using PlaceholderAPI and MiniPlaceholders if they
+ * are present, the resolved values are cached in a {@link PlaceholderCache},
+ * and resolved under the deadlines of a {@link PlaceholderGuard}.
+ * <p>
+ * Static lines are never rendered, and dynamic lines are only
+ * deserialized again when a referenced placeholder value changes,
+ * the players whose line resolves to the same source share the
+ * same component.
+ *
+ * @since 0.0.1
+ */
+public final class PlaceholderRenderer {
+  private static final Object[] NO_ENTRIES = new Object[0];
+  private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+  private final PlaceholderCache cache;
+  private final PlaceholderGuard guard;
+  private final RenderClassCache renderClasses;
+  private volatile boolean placeholderApi;
+  private volatile boolean miniPlaceholders;
+
+  public PlaceholderRenderer(final @NotNull PlaceholderCache cache, final @NotNull PlaceholderGuard guard) {
+    this.cache = cache;
+    this.guard = guard;
+    this.renderClasses = new RenderClassCache();
+  }
+
+  /**
+   * Detects the placeholder plugins that are enabled, this must
+   * be called once the server has enabled them.
+   *
+   * @param pluginManager the server {@link PluginManager}.
+   * @param logger the logger to notify the detected plugins.
+   * @since 0.0.1
+   */
+  public void load(final @NotNull PluginManager pluginManager, final @NotNull ComponentLogger logger) {
+    this.placeholderApi = pluginManager.isPluginEnabled("PlaceholderAPI");
+    this.miniPlaceholders = pluginManager.isPluginEnabled("MiniPlaceholders");
+    if (this.placeholderApi) {
+      logger.info("Detected PlaceholderAPI, its placeholders will be rendered.");
+    }
+    if (this.miniPlaceholders) {
+      logger.info("Detected MiniPlaceholders, its placeholders will be rendered.");
+    }
+  }
+
+  /**
+   * Returns the cache used for the placeholder values.
+   *
+   * @return The {@link PlaceholderCache}.
+   * @since 0.0.1
+   */
+  public @NotNull PlaceholderCache cache() {
+    return this.cache;
+  }
+
+  /**
+   * Returns the guard used for the placeholder resolutions.
+   *
+   * @return The {@link PlaceholderGuard}.
+   * @since 0.0.1
+   */
+  public @NotNull PlaceholderGuard guard() {
+    return this.guard;
+  }
+
+  /**
+   * Removes the cached values of the placeholders referenced
+   * by the line, so they are resolved again on the next render.
+   *
+   * @param player the player, or {@code null} for the global values.
+   * @param line the compiled line.
+   * @since 0.0.1
+   */
+  public void invalidate(final @Nullable Player player, final @NotNull CompiledLine line) {
+    final var owner = (player == null) ? PlaceholderCache.GLOBAL_OWNER : player.getUniqueId();
+    for (final var placeholder : line.placeholders()) {
+      this.cache.invalidate(owner, placeholder);
+    }
+    for (final var tag : line.tags()) {
+      this.cache.invalidate(owner, tag);
+    }
+  }
+
+  /**
+   * Renders the given line for the specified player, without
+   * reusing any previous render.
+   *
+   * @param player the player, or {@code null} to render only
+   *               the global placeholders.
+   * @param line the compiled line.
+   * @return The rendered {@link Component}.
+   * @since 0.0.1
+   */
+  public @NotNull Component render(final @Nullable Player player, final @NotNull CompiledLine line) {
+    // Without placeholders, or placeholder plugins, the line is already compiled.
+    if (!this.renderable(line)) {
+      return line.component();
+    }
+    final var owner = (player == null) ? PlaceholderCache.GLOBAL_OWNER : player.getUniqueId();
+    // Without a scoreboard there's no snapshot, the snapshot
+    // fields are rendered empty.
+    final var source = replaceSnapshotFields(null, line, this.replacePlaceholders(player, owner, line));
+    return this.deserialize(player, owner, line, source);
+  }
+
+  /**
+   * Renders the given line for the player of the scoreboard, the
+   * line is only deserialized again if any value of their referenced
+   * placeholders has changed since the last render at that index.
+   *
+   * @param scoreboardModel the scoreboard that will show the line.
+   * @param index the line index, or {@link CachedScoreboardModel#TITLE_RENDER_INDEX}.
+   * @param line the compiled line.
+   * @return The rendered {@link Component}.
+   * @since 0.0.1
+   */
+  public @NotNull Component render(final @NotNull CachedScoreboardModel scoreboardModel, final int index,
+                                   final @NotNull CompiledLine line) {
+    if (!this.renderable(line)) {
+      return line.component();
+    }
+    final var player = scoreboardModel.player();
+    final var owner = player.getUniqueId();
+    final var source = replaceSnapshotFields(scoreboardModel.snapshot(), line, this.replacePlaceholders(player, owner, line));
+    final var tagEntries = this.tagEntries(owner, line);
+    // The same line with the same placeholder values, the previous
+    // component is still valid.
+    if (scoreboardModel.renderState(index) instanceof RenderState previous && previous.matches(line, source, tagEntries)) {
+      return previous.component();
+    }
+    final var component = this.deserialize(player, owner, line, source);
+    // The tags entries are collected again, as the deserialization
+    // has resolved the expired ones.
+    scoreboardModel.renderState(index, new RenderState(line, source, this.tagEntries(owner, line), component));
+    return component;
+  }
+
+  /**
+   * Checks whether the line has anything to render, without
+   * placeholders, or placeholder plugins, the line is already compiled.
+   *
+   * @param line the compiled line.
+   * @return Whether the line must be rendered.
+   * @since 0.0.1
+   */
+  private boolean renderable(final @NotNull CompiledLine line) {
+    return line.snapshotFields() != 0
+        || (line.dynamic() && (this.placeholderApi || this.miniPlaceholders));
+  }
+
+  /**
+   * Replaces every snapshot field referenced by the line, with
+   * their value captured on the main thread.
+   *
+   * @param snapshot the player snapshot, or {@code null}.
+   * @param line the compiled line.
+   * @param source the line source.
+   * @return The source with the snapshot fields replaced.
+   * @since 0.0.1
+   */
+  private static @NotNull String replaceSnapshotFields(final @Nullable PlayerSnapshot snapshot, final @NotNull CompiledLine line,
+                                                       @NotNull String source) {
+    final var snapshotFields = line.snapshotFields();
+    if (snapshotFields == 0) {
+      return source;
+    }
+    for (final var field : SnapshotField.values()) {
+      if ((snapshotFields & field.mask()) == 0) {
+        continue;
+      }
+      final var value = (snapshot == null) ? null : snapshot.value(field);
+      source = source.replace(field.tag(), (value == null) ? "" : MINI_MESSAGE.escapeTags(value));
+    }
+    return source;
+  }
+
+  private @NotNull Component deserialize(final @Nullable Player player, final @NotNull UUID owner,
+                                         final @NotNull CompiledLine line, final @NotNull String source) {
+    if (!this.miniPlaceholders || line.tags().length == 0) {
+      // Nothing was replaced, so the compiled line is still valid.
+      if (source.equals(line.source())) {
+        return line.component();
+      }
+      // Without tags the source has every input that affects the
+      // line, so it is the key of their render-equivalence class.
+      return this.renderClasses.component(source, ComponentUtils::ofSingle);
+    }
+    return ComponentUtils.ofSingleWith(source, new CachingTagResolver(MiniPlaceholdersHook.resolver(player), this.cache, this.guard, owner));
+  }
+
+  /**
+   * Replaces every PlaceholderAPI placeholder referenced by the
+   * line in their source.
+   *
+   * @param player the player, or {@code null}.
+   * @param owner the owner of the cached values.
+   * @param line the compiled line.
+   * @return The source with the placeholders replaced.
+   * @since 0.0.1
+   */
+  private @NotNull String replacePlaceholders(final @Nullable Player player, final @NotNull UUID owner, final @NotNull CompiledLine line) {
+    var source = line.source();
+    if (!this.placeholderApi) {
+      return source;
+    }
+    for (final var placeholder : line.placeholders()) {
+      // A slow, or tripped, expansion keeps their last known value.
+      final var value = this.cache.get(owner, placeholder, () -> this.guard.resolve(PlaceholderGuard.expansionOf(placeholder),
+          () -> PlaceholderAPIHook.resolve(player, placeholder), this.cache.<String>lastKnown(owner, placeholder)));
+      if (value != null) {
+        source = source.replace(placeholder, value);
+      }
+    }
+    return source;
+  }
+
+  private @Nullable Object @NotNull [] tagEntries(final @NotNull UUID owner, final @NotNull CompiledLine line) {
+    if (!this.miniPlaceholders) {
+      return NO_ENTRIES;
+    }
+    final var tags = line.tags();
+    final var entries = new Object[tags.length];
+    for (int index = 0; index < tags.length; index++) {
+      entries[index] = this.cache.entry(owner, tags[index]);
+    }
+    return entries;
+  }
+
+  /**
+   * The last render of a line, with the values used for it.
+   *
+   * @param line the compiled line.
+   * @param source the source with the PlaceholderAPI values.
+   * @param tagEntries the cache entries of the tags.
+   * @param component the rendered component.
+   * @since 0.0.1
+   */
+  private record RenderState(@NotNull CompiledLine line, @NotNull String source, @Nullable Object @NotNull [] tagEntries,
+                             @NotNull Component component) {
+    boolean matches(final @NotNull CompiledLine line, final @NotNull String source, final @Nullable Object @NotNull [] tagEntries) {
+      if (this.line != line || !this.source.equals(source)) {
+        return false;
+      }
+      for (int index = 0; index < tagEntries.length; index++) {
+        // An expired tag, or resolved again, must be rendered again.
+        if (tagEntries[index] == null || tagEntries[index] != this.tagEntries[index]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
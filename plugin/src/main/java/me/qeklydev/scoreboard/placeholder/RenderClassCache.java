@@ -0,0 +1,87 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.placeholder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class shares the rendered components between every player
+ * whose line has resolved to the same source, the render-equivalence
+ * class of the line, so each distinct source is deserialized once and
+ * the same {@link Component} instance is used by every scoreboard.
+ * <p>
+ * The classes are kept in two generations, when the current one is
+ * full it becomes the previous one, so the classes still in use are
+ * promoted and the unused ones are discarded.
+ *
+ * @since 0.0.1
+ */
+final class RenderClassCache {
+  private static final int MAX_CLASSES = 4096;
+  private volatile Map<String, Component> currentClasses;
+  private volatile Map<String, Component> previousClasses;
+
+  RenderClassCache() {
+    this.currentClasses = new ConcurrentHashMap<>();
+    this.previousClasses = Map.of();
+  }
+
+  /**
+   * Returns the component shared by the given source, or renders
+   * it if no player has used that source recently.
+   *
+   * @param source the resolved source of the line, their context key.
+   * @param renderer the renderer for the source.
+   * @return The shared {@link Component}.
+   * @since 0.0.1
+   */
+  @NotNull Component component(final @NotNull String source, final @NotNull Function<@NotNull String, @NotNull Component> renderer) {
+    final var currentClasses = this.currentClasses;
+    var component = currentClasses.get(source);
+    if (component != null) {
+      return component;
+    }
+    component = this.previousClasses.get(source);
+    if (component == null) {
+      component = renderer.apply(source);
+    }
+    // Concurrent misses could render the source more than once, the
+    // first stored component is the one shared from then on.
+    final var previous = currentClasses.putIfAbsent(source, component);
+    if (previous != null) {
+      return previous;
+    }
+    if (currentClasses.size() > MAX_CLASSES) {
+      this.rotate(currentClasses);
+    }
+    return component;
+  }
+
+  private synchronized void rotate(final @NotNull Map<String, Component> fullClasses) {
+    // Another thread has already rotated the generations.
+    if (this.currentClasses != fullClasses) {
+      return;
+    }
+    this.previousClasses = fullClasses;
+    this.currentClasses = new ConcurrentHashMap<>();
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.snapshot;
+
+import java.util.Locale;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
+import me.qeklydev.scoreboard.thread.backend.RegionizedExecutorBackend;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This task captures every tick, on the main thread, a snapshot
+ * with the player fields referenced by the content, so the async
+ * renderers never read the live player state. The locale is always
+ * captured during tracking, and again when the player changes it.
+ * <p>
+ * On regionised servers there's no main thread, the snapshot is
+ * captured by the entity scheduler of each player instead.
+ *
+ * @since 0.0.1
+ */
+public final class PlayerSnapshotTask implements Runnable {
+  private final Plugin plugin;
+  private final ScoreboardModelRepository scoreboardRepository;
+  private final boolean regionized;
+  private volatile int snapshotFields;
+
+  public PlayerSnapshotTask(final @NotNull Plugin plugin, final @NotNull ScoreboardModelRepository scoreboardRepository) {
+    this.plugin = plugin;
+    this.scoreboardRepository = scoreboardRepository;
+    this.regionized = RegionizedExecutorBackend.regionized();
+  }
+
+  /**
+   * Sets the mask of the fields that are captured, the fields
+   * referenced by the compiled content.
+   *
+   * @param newSnapshotFields the new fields mask.
+   * @since 0.0.1
+   */
+  public void snapshotFields(final int newSnapshotFields) {
+    this.snapshotFields = newSnapshotFields;
+  }
+
+  /**
+   * Starts the capturing of the snapshots every tick.
+   *
+   * @since 0.0.1
+   */
+  public void start() {
+    // The snapshots are scheduled per player during tracking.
+    if (this.regionized) {
+      return;
+    }
+    this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this, 1L, 1L);
+  }
+
+  /**
+   * Captures the first snapshot for the scoreboard, it must be
+   * called from the thread that owns the player, such as during
+   * the join event.
+   *
+   * @param scoreboardModel the scoreboard model.
+   * @since 0.0.1
+   */
+  public void track(final @NotNull CachedScoreboardModel scoreboardModel) {
+    // The first snapshot is always captured, as it holds the locale.
+    scoreboardModel.snapshot(PlayerSnapshot.capture(scoreboardModel.player(), this.snapshotFields));
+    if (!this.regionized) {
+      return;
+    }
+    // The task is retired with the player, or cancelled once the
+    // model is not registered anymore.
+    scoreboardModel.player().getScheduler().runAtFixedRate(this.plugin, task -> {
+      if (this.scoreboardRepository.findOrNull(scoreboardModel.player().getUniqueId()) != scoreboardModel) {
+        task.cancel();
+        return;
+      }
+      this.capture(scoreboardModel);
+    }, null, 1L, 1L);
+  }
+
+  /**
+   * Captures a new snapshot for the scoreboard with the new locale
+   * of the player, it must be called from the thread that owns the
+   * player, such as during the locale change event.
+   *
+   * @param scoreboardModel the scoreboard model.
+   * @param locale the new locale.
+   * @since 0.0.1
+   */
+  public void localeChanged(final @NotNull CachedScoreboardModel scoreboardModel, final @NotNull Locale locale) {
+    scoreboardModel.snapshot(PlayerSnapshot.capture(scoreboardModel.player(), this.snapshotFields, locale));
+  }
+
+  @Override
+  public void run() {
+    if (this.snapshotFields == 0) {
+      return;
+    }
+    // The 'CLOSED' scoreboards are not rendered, so they don't
+    // need any snapshot.
+    for (final var scoreboardModel : this.scoreboardRepository.visibleScoreboards()) {
+      this.capture(scoreboardModel);
+    }
+  }
+
+  private void capture(final @NotNull CachedScoreboardModel scoreboardModel) {
+    final var snapshotFields = this.snapshotFields;
+    if (snapshotFields != 0) {
+      scoreboardModel.snapshot(PlayerSnapshot.capture(scoreboardModel.player(), snapshotFields));
+    }
+  }
+}
@@ -17,134 +17,401 @@
  */
 package me.qeklydev.scoreboard.thread.impl;
 
-import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.component.CompiledContentTable;
+import me.qeklydev.scoreboard.component.CompiledLine;
 import me.qeklydev.scoreboard.config.Configuration;
 import me.qeklydev.scoreboard.config.ConfigurationProvider;
+import me.qeklydev.scoreboard.placeholder.PlaceholderRenderer;
+import me.qeklydev.scoreboard.repository.PlayerSlotArena;
 import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
 import me.qeklydev.scoreboard.thread.CustomExecutorThreadModel;
+import me.qeklydev.scoreboard.thread.ScoreboardTimingWheel;
+import me.qeklydev.scoreboard.thread.backend.ExecutorBackend;
+import me.qeklydev.scoreboard.translation.LocaleTranslationCache;
 import me.qeklydev.scoreboard.type.ScoreboardToggleStateType;
-import me.qeklydev.scoreboard.component.ComponentUtils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
-import org.bukkit.Bukkit;
+import net.megavex.scoreboardlibrary.api.sidebar.Sidebar;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * This class handles the updating content process for
  * the active scoreboards
+ * <p>
+ * With frame buffering, the lines of each frame are rendered into
+ * the back buffer of every scoreboard, and sent at the start of the
+ * next frame, so the render time never delays the shown lines.
  *
  * @since 0.0.1
  */
 public final class ScoreboardUpdaterThreadModelImpl extends CustomExecutorThreadModel {
   private final ConfigurationProvider<Configuration> configProvider;
   private final ComponentLogger logger;
+  private final ExecutorBackend executorBackend;
+  private final PlaceholderRenderer placeholderRenderer;
+  private final LocaleTranslationCache translationCache;
+  private final Component[] sharedSentLines;
+  private final long[] sharedRefreshTimes;
+  private final Queue<CachedScoreboardModel> bufferedScoreboards;
+  private volatile Frame frame;
+  private volatile CompiledContentTable contentTable;
 
   public ScoreboardUpdaterThreadModelImpl(final @NotNull ScoreboardModelRepository scoreboardRepository,
                                           final @NotNull ConfigurationProvider<@NotNull Configuration> configProvider,
+                                          final @NotNull CompiledContentTable contentTable,
+                                          final @NotNull ExecutorBackend executorBackend,
+                                          final @NotNull PlaceholderRenderer placeholderRenderer,
                                           final @NotNull ComponentLogger logger) {
-    super(
-        Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "ScoreboardUpdaterExecutor")),
-        scoreboardRepository);
+    super(scoreboardRepository);
     this.configProvider = configProvider;
+    this.contentTable = contentTable;
+    this.executorBackend = executorBackend;
+    this.placeholderRenderer = placeholderRenderer;
+    this.translationCache = new LocaleTranslationCache();
     this.logger = logger;
+    this.sharedSentLines = new Component[PlayerSlotArena.MAX_LINES];
+    this.sharedRefreshTimes = new long[PlayerSlotArena.MAX_LINES];
+    this.bufferedScoreboards = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Sets a new compiled content table for this executor-model.
+   *
+   * @param newContentTable the new {@link CompiledContentTable}.
+   * @since 0.0.1
+   */
+  public void contentTable(final @NotNull CompiledContentTable newContentTable) {
+    this.contentTable = newContentTable;
+  }
+
+  /**
+   * Returns the compiled content table used by this executor-model.
+   *
+   * @return The {@link CompiledContentTable} for this {@link CustomExecutorThreadModel}.
+   * @since 0.0.1
+   */
+  public @NotNull CompiledContentTable contentTable() {
+    return this.contentTable;
   }
 
   @Override
   public void run() {
     final var config = this.configProvider.get();
+    // These values are established before the work is dispatched
+    // to the backend, so every scoreboard uses the same ones, and a
+    // late execution of a previous frame knows that it is older.
+    final var previousFrame = this.frame;
+    this.frame = new Frame((previousFrame == null) ? 0 : previousFrame.generation() + 1, System.currentTimeMillis(),
+        TimeUnit.SECONDS.toMillis(config.scoreboardFrameUpdateRate), config.scoreboardFrameBuffering);
+    this.translationCache.newFrame();
+    // The lines rendered by the previous frame are sent first, at
+    // the period boundary, before the next frame is rendered.
+    this.swapBufferedLines();
+    // We take the current table once, so a reload during this
+    // frame doesn't mix content from both tables.
+    final var table = this.contentTable;
     switch (config.scoreboardMode) {
-      case "SINGLE" -> this.processOnSingleMode(config);
-      case "WORLD" -> this.processOnWorldMode(config);
+      case "SINGLE" -> this.processOnSingleMode(table, this.frame);
+      case "WORLD" -> this.processOnWorldMode(table, this.frame);
       default -> {
         // If switch-block has fallen on here, it means that the specified
         // mode is unknown, so we need to shutting down this executor if any scoreboard
         // will be processed due to the invalid mode given.
-        this.logger.error("Unknown detected mode for the scoreboard, shutting down 'ScoreboardUpdaterExecutor' thread.");
+        this.logger.error("Unknown detected mode for the scoreboard, shutting down 'ScoreboardUpdaterThreadModelImpl' executor model.");
         final var shutdownResult = super.shutdown();
         // Shutdown process result for this executor has suffered a mishap?
         if (shutdownResult.failed()) {
           this.logger.warn("Incorrectly shutdown on current CustomExecutorThreadModel.");
         }
-        this.logger.info("Shutdown result for 'ScoreboardUpdatingExecutor' thread is: {}", shutdownResult);
+        this.logger.info("Shutdown result for 'ScoreboardUpdaterThreadModelImpl' executor model is: {}", shutdownResult);
+      }
+    }
+  }
+
+  @Override
+  protected void flush() {
+    final var table = this.contentTable;
+    final var singleMode = this.configProvider.get().scoreboardMode.equals("SINGLE");
+    final var sharedInvalidatedKeys = super.scoreboardRepository.drainSharedInvalidatedKeys();
+    final var sharedSidebar = super.scoreboardRepository.sharedSidebar();
+    if (!sharedInvalidatedKeys.isEmpty() && sharedSidebar != null) {
+      this.flushSharedLines(sharedSidebar, table.single(), sharedInvalidatedKeys);
+    }
+    // The invalidations are coalesced per scoreboard, so each one
+    // is processed once, whatever the amount of invalidations. The
+    // keys are drained here, so the ones of a scoreboard skipped by
+    // the backend can be invalidated again.
+    final var invalidatedScoreboards = new HashMap<CachedScoreboardModel, Set<String>>();
+    CachedScoreboardModel invalidatedScoreboard;
+    while ((invalidatedScoreboard = super.scoreboardRepository.pollInvalidated()) != null) {
+      invalidatedScoreboards.put(invalidatedScoreboard, invalidatedScoreboard.drainInvalidatedKeys());
+    }
+    if (invalidatedScoreboards.isEmpty()) {
+      return;
+    }
+    // The backend would skip the scoreboards with work for another
+    // frame still in progress, their keys are invalidated again, so
+    // they are flushed on a later tick. This is checked before the
+    // dispatch, as an asynchronous backend returns before the work.
+    final var dispatchedScoreboards = new ArrayList<CachedScoreboardModel>(invalidatedScoreboards.size());
+    var deferred = false;
+    for (final var invalidation : invalidatedScoreboards.entrySet()) {
+      final var scoreboardModel = invalidation.getKey();
+      if (!this.executorBackend.busy(scoreboardModel)) {
+        dispatchedScoreboards.add(scoreboardModel);
+        continue;
+      }
+      // A deleted scoreboard has nothing to flush anymore.
+      if (super.scoreboardRepository.findOrNull(scoreboardModel.player().getUniqueId()) != scoreboardModel) {
+        continue;
+      }
+      for (final var invalidatedKey : invalidation.getValue()) {
+        super.scoreboardRepository.invalidate(scoreboardModel, invalidatedKey);
+      }
+      deferred = true;
+    }
+    final var arena = super.scoreboardRepository.arena();
+    this.executorBackend.execute(dispatchedScoreboards, scoreboardModel -> {
+      final var invalidatedKeys = invalidatedScoreboards.get(scoreboardModel);
+      final var worldName = arena.world(scoreboardModel.slot());
+      final var content = singleMode ? table.single() : ((worldName == null) ? null : table.world(worldName));
+      // The content was not sent yet, it will be sent entirely by
+      // the next periodic execution.
+      if (content == null || !scoreboardModel.staticContentSent(content)) {
+        return;
+      }
+      for (byte lineIndex = 0; lineIndex < content.length; lineIndex++) {
+        final var line = content[lineIndex];
+        if (line.key() == null || !invalidatedKeys.contains(line.key())) {
+          continue;
+        }
+        this.placeholderRenderer.invalidate(scoreboardModel.player(), line);
+        // The buffered render is older than this one.
+        scoreboardModel.discardBufferedLine(lineIndex);
+        scoreboardModel.updateLine(lineIndex, this.placeholderRenderer.render(scoreboardModel, lineIndex, line));
       }
+    });
+    if (deferred) {
+      super.requestFlush();
     }
   }
 
+  /**
+   * Sends the lines buffered by the previous frame for every
+   * scoreboard that has rendered any line.
+   *
+   * @since 0.0.1
+   */
+  private void swapBufferedLines() {
+    if (this.bufferedScoreboards.isEmpty()) {
+      return;
+    }
+    final var bufferedScoreboards = new ArrayList<CachedScoreboardModel>();
+    CachedScoreboardModel bufferedScoreboard;
+    while ((bufferedScoreboard = this.bufferedScoreboards.poll()) != null) {
+      bufferedScoreboards.add(bufferedScoreboard);
+    }
+    this.executorBackend.execute(bufferedScoreboards, CachedScoreboardModel::swapBufferedLines);
+  }
+
   /**
    * Process the scoreboards based on the 'SINGLE' mode.
    *
-   * @param config the configuration model.
+   * @param table the compiled content table.
+   * @param frame the current frame.
    * @since 0.0.1
    */
-  private void processOnSingleMode(final @NotNull Configuration config) {
-    final var componentsLines = ComponentUtils.ofMany(config.content);
-    final var size = componentsLines.size();
-    for (final var scoreboardModel : super.scoreboardRepository.scoreboards()) {
-      // If visibility status for the scoreboard is 'CLOSED',
-      // skip this iteration.
-      if (scoreboardModel.toggleState() == ScoreboardToggleStateType.CLOSED) {
-        continue;
-      }
-      byte lineIndex = 0;
-      // We reset the line index value to zero if current index
-      // has reached the list size.
-      if (lineIndex == size) {
-        lineIndex = 0;
-      }
-      for (final var line : componentsLines) { // -> O(n ^ 2)
-        // Establish the current content list index as the current line for
-        // the scoreboard content.
-        scoreboardModel.updateLine(lineIndex, line);
-        lineIndex++;
+  private void processOnSingleMode(final @NotNull CompiledContentTable table, final @NotNull Frame frame) {
+    final var content = table.single();
+    final var sharedSidebar = super.scoreboardRepository.sharedSidebar();
+    // With a shared sidebar the frame is established once, and
+    // broadcast to every viewer, so it is only done on the first slice.
+    if (sharedSidebar != null) {
+      if (super.currentSlice() == 0) {
+        this.updateSharedLines(sharedSidebar, content, frame);
       }
+      return;
     }
+    // Only the visible scoreboards of the current slice are dispatched,
+    // the 'CLOSED' ones, and the other slices, don't cost anything here.
+    this.executorBackend.execute(super.currentSliceScoreboards(), scoreboardModel -> this.updateLines(scoreboardModel, content, frame));
   }
 
   /**
    * Process the scoreboards based on the 'WORLD' mode
    * defined in the configuration.
    *
-   * @param config the configuration model.
+   * @param table the compiled content table.
+   * @param frame the current frame.
+   * @since 0.0.1
+   */
+  private void processOnWorldMode(final @NotNull CompiledContentTable table, final @NotNull Frame frame) {
+    // Only the buckets of the worlds with content are walked, and
+    // of them only the visible scoreboards of the current slice are
+    // dispatched, established with the content of their world.
+    final var arena = super.scoreboardRepository.arena();
+    final var worldScoreboards = new ArrayList<CachedScoreboardModel>();
+    for (final var worldName : table.worlds().keySet()) {
+      for (final var scoreboardModel : super.scoreboardRepository.worldScoreboards(worldName)) {
+        if (scoreboardModel.toggleState() == ScoreboardToggleStateType.VISIBLE && super.inCurrentSlice(scoreboardModel)) {
+          worldScoreboards.add(scoreboardModel);
+        }
+      }
+    }
+    if (worldScoreboards.isEmpty()) {
+      return;
+    }
+    this.executorBackend.execute(worldScoreboards, scoreboardModel -> {
+      final var worldName = arena.world(scoreboardModel.slot());
+      // The player could have changed to a world without content.
+      final var content = (worldName == null) ? null : table.world(worldName);
+      if (content != null) {
+        this.updateLines(scoreboardModel, content, frame);
+      }
+    });
+  }
+
+
+  /**
+   * Establish every compiled line as the content for the
+   * shared sidebar, only the modified lines are sent. As the
+   * sidebar is shared, only the global placeholders are rendered.
+   *
+   * @param sharedSidebar the shared sidebar.
+   * @param content the compiled lines.
+   * @param frame the current frame.
    * @since 0.0.1
    */
-  private void processOnWorldMode(final @NotNull Configuration config) {
-    for (final var scoreboardModel : super.scoreboardRepository.scoreboards()) {
-      List<Component> content = null;
-      for (final var section : config.scoreboardForWorlds) {
-        final var player = scoreboardModel.player();
-        final var worldName = section.targetedWorld;
-        // Checks if the world specified exists and is loaded
-        // on the server, or if the player world name is equals
-        // than the currently iterated.
-        if ((Bukkit.getWorld(worldName) == null) || !player.getWorld().getName().equals(worldName)) {
+  private void updateSharedLines(final @NotNull Sidebar sharedSidebar, final CompiledLine @NotNull [] content,
+                                 final @NotNull Frame frame) {
+    for (byte lineIndex = 0; lineIndex < content.length; lineIndex++) {
+      final var compiledLine = content[lineIndex];
+      if (lineIndex < this.sharedRefreshTimes.length && compiledLine.dynamic()) {
+        if (!this.refreshDue(this.sharedRefreshTimes[lineIndex], compiledLine, frame)) {
           continue;
         }
-        content = ComponentUtils.ofMany(section.content);
-        break;
+        this.sharedRefreshTimes[lineIndex] = frame.startMillis();
+      }
+      final var line = this.placeholderRenderer.render(null, compiledLine);
+      if (lineIndex < this.sharedSentLines.length) {
+        // This updater is the only writer for the shared lines, so
+        // a plain array is enough to skip the unmodified ones.
+        if (line.equals(this.sharedSentLines[lineIndex])) {
+          continue;
+        }
+        this.sharedSentLines[lineIndex] = line;
+      }
+      sharedSidebar.line(lineIndex, line);
+    }
+  }
+
+  /**
+   * Renders again the lines of the shared sidebar with any of
+   * the invalidated keys.
+   *
+   * @param sharedSidebar the shared sidebar.
+   * @param content the compiled lines.
+   * @param invalidatedKeys the invalidated keys.
+   * @since 0.0.1
+   */
+  private void flushSharedLines(final @NotNull Sidebar sharedSidebar, final CompiledLine @NotNull [] content,
+                                final @NotNull Set<@NotNull String> invalidatedKeys) {
+    final var lines = Math.min(content.length, this.sharedSentLines.length);
+    for (byte lineIndex = 0; lineIndex < lines; lineIndex++) {
+      final var compiledLine = content[lineIndex];
+      if (compiledLine.key() == null || !invalidatedKeys.contains(compiledLine.key())) {
+        continue;
       }
-      // If content for the scoreboard was not provided due
-      // to any reason, process with the next iteration.
-      if (content == null) {
+      this.placeholderRenderer.invalidate(null, compiledLine);
+      final var line = this.placeholderRenderer.render(null, compiledLine);
+      if (line.equals(this.sharedSentLines[lineIndex])) {
         continue;
       }
-      // If visibility status for the scoreboard is 'CLOSED',
-      // skip this iteration.
-      if (scoreboardModel.toggleState() == ScoreboardToggleStateType.CLOSED) {
+      this.sharedSentLines[lineIndex] = line;
+      sharedSidebar.line(lineIndex, line);
+    }
+  }
+
+  private boolean refreshDue(final long lastRefreshMillis, final @NotNull CompiledLine line, final @NotNull Frame frame) {
+    // The interval is reduced by a tick, so the scheduling jitter
+    // doesn't delay the refresh to the next execution.
+    return frame.startMillis() - lastRefreshMillis >= line.refreshMillis(frame.millis()) - ScoreboardTimingWheel.TICK_MILLIS;
+  }
+
+  /**
+   * Establish every compiled line, rendered for the player,
+   * as the content for the given scoreboard. The static lines
+   * are only established once for each content, and the dynamic
+   * ones only when their refresh interval has elapsed, into the
+   * back buffer if frame buffering is enabled.
+   *
+   * @param scoreboardModel the scoreboard to update.
+   * @param content the compiled lines.
+   * @param frame the frame that has dispatched this work.
+   * @since 0.0.1
+   */
+  private void updateLines(final @NotNull CachedScoreboardModel scoreboardModel, final CompiledLine @NotNull [] content,
+                           final @NotNull Frame frame) {
+    // The frames are sequenced per scoreboard, a late execution is
+    // only discarded if a newer frame has already updated this one,
+    // as their lines, buffers and refresh times belong to it now.
+    if (!scoreboardModel.enterLinesFrame(frame.generation())) {
+      return;
+    }
+    final var staticContentSent = scoreboardModel.staticContentSent(content);
+    // A new content is sent directly, without waiting for the next
+    // frame, so the older buffered lines are discarded.
+    final var buffering = frame.buffering() && staticContentSent;
+    if (!staticContentSent) {
+      scoreboardModel.discardBufferedLines();
+    }
+    var buffered = false;
+    for (byte lineIndex = 0; lineIndex < content.length; lineIndex++) {
+      final var line = content[lineIndex];
+      if (!line.dynamic()) {
+        // The players with the same locale share the translated line.
+        if (!staticContentSent) {
+          scoreboardModel.updateLine(lineIndex, this.translationCache.translate(lineIndex, line, line.component(),
+              scoreboardModel.snapshot()));
+        }
         continue;
       }
-      byte lineIndex = 0;
-      // We reset the line index value to zero if current index
-      // has reached the list size.
-      if (lineIndex == content.size()) {
-        lineIndex = 0;
+      // A new content is established entirely, without waiting
+      // for the refresh interval of their lines.
+      final var refreshDue = scoreboardModel.refreshDue(lineIndex, frame.startMillis(),
+          line.refreshMillis(frame.millis()) - ScoreboardTimingWheel.TICK_MILLIS);
+      if (!refreshDue && staticContentSent) {
+        continue;
       }
-      for (final var line : content) {
-        // Establish the current content list index as the current line for
-        // the scoreboard content.
-        scoreboardModel.updateLine(lineIndex, line);
-        lineIndex++;
+      final var lineComponent = this.placeholderRenderer.render(scoreboardModel, lineIndex, line);
+      if (buffering && scoreboardModel.bufferLine(lineIndex, lineComponent)) {
+        buffered = true;
+        continue;
       }
+      scoreboardModel.updateLine(lineIndex, lineComponent);
+    }
+    if (buffered) {
+      this.bufferedScoreboards.add(scoreboardModel);
     }
+    scoreboardModel.markStaticContentSent(content);
   }
+
+  /**
+   * The values established at the start of a frame, every execution
+   * of the frame uses the same ones.
+   *
+   * @param generation the generation of this frame.
+   * @param startMillis the time when this frame was started.
+   * @param millis the period of the frames.
+   * @param buffering whether the lines are buffered until the next frame.
+   * @since 0.0.1
+   */
+  private record Frame(long generation, long startMillis, long millis, boolean buffering) {}
 }
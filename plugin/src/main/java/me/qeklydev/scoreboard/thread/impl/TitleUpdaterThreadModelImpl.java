@@ -18,61 +18,85 @@
 package me.qeklydev.scoreboard.thread.impl;
 
 import java.util.List;
-import java.util.concurrent.Executors;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.component.CompiledLine;
+import me.qeklydev.scoreboard.placeholder.PlaceholderRenderer;
 import me.qeklydev.scoreboard.repository.ScoreboardModelRepository;
 import me.qeklydev.scoreboard.thread.CustomExecutorThreadModel;
-import me.qeklydev.scoreboard.type.ScoreboardToggleStateType;
-import net.kyori.adventure.text.Component;
+import me.qeklydev.scoreboard.thread.backend.ExecutorBackend;
+import me.qeklydev.scoreboard.translation.LocaleTranslationCache;
 import org.jetbrains.annotations.NotNull;
 
 public final class TitleUpdaterThreadModelImpl extends CustomExecutorThreadModel {
-  private List<Component> content;
+  private final ExecutorBackend executorBackend;
+  private final PlaceholderRenderer placeholderRenderer;
+  private final LocaleTranslationCache translationCache;
+  private volatile List<CompiledLine> content;
   private byte index;
+  private long generation;
 
   public TitleUpdaterThreadModelImpl(final @NotNull ScoreboardModelRepository scoreboardRepository,
-                                     final @NotNull List<@NotNull Component> content) {
-    super(
-        Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "ScoreboardTitleUpdaterExecutor")),
-        scoreboardRepository);
+                                     final @NotNull List<@NotNull CompiledLine> content,
+                                     final @NotNull ExecutorBackend executorBackend,
+                                     final @NotNull PlaceholderRenderer placeholderRenderer) {
+    super(scoreboardRepository);
     this.content = content;
+    this.executorBackend = executorBackend;
+    this.placeholderRenderer = placeholderRenderer;
+    this.translationCache = new LocaleTranslationCache();
   }
 
   /**
-   * Sets a new list of components for this executor-model.
+   * Sets a new list of compiled lines for this executor-model.
    *
-   * @param newContent the new components list.
+   * @param newContent the new compiled lines list.
    * @since 0.0.1
    */
-  public void content(final @NotNull List<@NotNull Component> newContent) {
+  public void content(final @NotNull List<@NotNull CompiledLine> newContent) {
     this.content = newContent;
   }
 
   /**
-   * Returns the list of components for this executor-model.
+   * Returns the list of compiled lines for this executor-model.
    *
-   * @return The list of {@link Component} for this {@link CustomExecutorThreadModel}.
+   * @return The list of {@link CompiledLine} for this {@link CustomExecutorThreadModel}.
    * @since 0.0.1
    */
-  public @NotNull List<@NotNull Component> content() {
+  public @NotNull List<@NotNull CompiledLine> content() {
     return this.content;
   }
 
   @Override
   public void run() {
-    // If current index value is equals than the list size,
+    final var content = this.content;
+    // If current index value has reached the list size,
     // reset the value to zero.
-    if (this.index++ == this.content.size()) {
+    if (this.index >= content.size()) {
       this.index = 0;
     }
-    for (final var scoreboardModel : super.scoreboardRepository.scoreboards()) {
-      // If visibility status for the scoreboard is 'CLOSED',
-      // skip this iteration.
-      if (scoreboardModel.toggleState() == ScoreboardToggleStateType.CLOSED) {
-        continue;
-      }
-      // Establish the current content list index as the current animation
-      // line for the title.
-      scoreboardModel.updateTitle(this.content.get(this.index));
+    final var titleLine = content.get(this.index++);
+    final var sharedSidebar = super.scoreboardRepository.sharedSidebar();
+    // With a shared sidebar the title is established once, and
+    // broadcast to every viewer, so only global placeholders are rendered.
+    if (sharedSidebar != null) {
+      sharedSidebar.title(this.placeholderRenderer.render(null, titleLine));
+      return;
     }
+    // Only the visible scoreboards are iterated, the 'CLOSED'
+    // ones don't cost anything here.
+    // Establish the current content list index as the current animation
+    // line for the title, the frame is translated once per locale.
+    this.translationCache.newFrame();
+    final var generation = ++this.generation;
+    this.executorBackend.execute(super.scoreboardRepository.visibleScoreboards(), scoreboardModel -> {
+      // A late execution of a previous frame would establish an
+      // older title, so it is discarded if a newer one was established.
+      if (!scoreboardModel.enterTitleFrame(generation)) {
+        return;
+      }
+      final var title = this.placeholderRenderer.render(scoreboardModel, CachedScoreboardModel.TITLE_RENDER_INDEX, titleLine);
+      scoreboardModel.updateTitle(this.translationCache.translate(CachedScoreboardModel.TITLE_RENDER_INDEX, titleLine,
+          title, scoreboardModel.snapshot()));
+    });
   }
 }
@@ -0,0 +1,92 @@
+/*
+ * This file is part of scoreboard - https://github.com/aivruu/scoreboard
+ * Copyright (C) 2020-2024 aivruu (https://github.com/aivruu)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.qeklydev.scoreboard.translation;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import me.qeklydev.scoreboard.cache.CachedScoreboardModel;
+import me.qeklydev.scoreboard.component.CompiledLine;
+import me.qeklydev.scoreboard.snapshot.PlayerSnapshot;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class caches the translated components of the lines with
+ * translatable content, per line, locale and frame, so every
+ * distinct locale is translated once per frame, instead of once
+ * for every player.
+ * <p>
+ * Only the components shared by every player are cached, the ones
+ * rendered for a single player are translated by the sidebar.
+ *
+ * @since 0.0.1
+ */
+public final class LocaleTranslationCache {
+  private static final int BUCKET_SIZE = CachedScoreboardModel.TITLE_RENDER_INDEX + 1;
+  private final Map<Locale, Translation[]> translations;
+
+  public LocaleTranslationCache() {
+    this.translations = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Discards the translations of the previous frame, so the
+   * changes of the registered translations are applied.
+   *
+   * @since 0.0.1
+   */
+  public void newFrame() {
+    this.translations.clear();
+  }
+
+  /**
+   * Returns the given component translated for the locale, it is
+   * only translated if it is not cached yet during this frame.
+   *
+   * @param index the line index, or {@link CachedScoreboardModel#TITLE_RENDER_INDEX}.
+   * @param line the compiled line.
+   * @param component the rendered component.
+   * @param snapshot the player snapshot, that holds their locale.
+   * @return The translated {@link Component}, or the same component
+   *     if it has nothing to translate, it's rendered for a single player,
+   *     or the locale was not captured yet.
+   * @since 0.0.1
+   */
+  public @NotNull Component translate(final int index, final @NotNull CompiledLine line,
+                                      final @NotNull Component component, final @Nullable PlayerSnapshot snapshot) {
+    if (snapshot == null || !line.translatable() || component != line.component() || index < 0 || index >= BUCKET_SIZE) {
+      return component;
+    }
+    final var locale = snapshot.locale();
+    final var bucket = this.translations.computeIfAbsent(locale, key -> new Translation[BUCKET_SIZE]);
+    final var translation = bucket[index];
+    if (translation != null && translation.line() == line && translation.source() == component) {
+      return translation.translated();
+    }
+    // Concurrent misses could translate the line more than once,
+    // that is cheaper than blocking the other players.
+    final var translated = GlobalTranslator.render(component, locale);
+    bucket[index] = new Translation(line, component, translated);
+    return translated;
+  }
+
+  private record Translation(@NotNull CompiledLine line, @NotNull Component source, @NotNull Component translated) {}
+}